@@ -0,0 +1,211 @@
+package geometries;
+
+import primitives.Point;
+import primitives.Ray;
+
+/**
+ * This class represents an axis aligned bounding box (AABB) around an intersectable.
+ * The box is used to skip the intersection calculations for rays that don't pass near the object.
+ */
+public class BoundingBox {
+    /**
+     * The box of unbounded intersectables (planes, tubes), every ray passes through it
+     */
+    public static final BoundingBox INFINITE = new BoundingBox(
+            Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    // the minimal coordinates of the box
+    private final double minX, minY, minZ;
+    // the maximal coordinates of the box
+    private final double maxX, maxY, maxZ;
+
+    /**
+     * Constructor to initialize a bounding box with its minimal and maximal coordinates.
+     *
+     * @param minX the minimal x coordinate.
+     * @param minY the minimal y coordinate.
+     * @param minZ the minimal z coordinate.
+     * @param maxX the maximal x coordinate.
+     * @param maxY the maximal y coordinate.
+     * @param maxZ the maximal z coordinate.
+     */
+    public BoundingBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        if (minX > maxX || minY > maxY || minZ > maxZ)
+            throw new IllegalArgumentException("bounding box minimal coordinates must not exceed the maximal ones");
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * Constructor to initialize the smallest bounding box containing all the given points.
+     *
+     * @param points the points that will be inside the box.
+     */
+    public BoundingBox(Point... points) {
+        if (points.length == 0)
+            throw new IllegalArgumentException("a bounding box must contain at least one point");
+        double x1 = Double.POSITIVE_INFINITY, y1 = Double.POSITIVE_INFINITY, z1 = Double.POSITIVE_INFINITY;
+        double x2 = Double.NEGATIVE_INFINITY, y2 = Double.NEGATIVE_INFINITY, z2 = Double.NEGATIVE_INFINITY;
+        for (Point p : points) {
+            x1 = Math.min(x1, p.getX());
+            y1 = Math.min(y1, p.getY());
+            z1 = Math.min(z1, p.getZ());
+            x2 = Math.max(x2, p.getX());
+            y2 = Math.max(y2, p.getY());
+            z2 = Math.max(z2, p.getZ());
+        }
+        minX = x1;
+        minY = y1;
+        minZ = z1;
+        maxX = x2;
+        maxY = y2;
+        maxZ = z2;
+    }
+
+    /**
+     * Getter to receive the minimal coordinate of the box on an axis.
+     *
+     * @param axis 0 for x, 1 for y and 2 for z.
+     */
+    public double getMin(int axis) {
+        return switch (axis) {
+            case 0 -> minX;
+            case 1 -> minY;
+            default -> minZ;
+        };
+    }
+
+    /**
+     * Getter to receive the maximal coordinate of the box on an axis.
+     *
+     * @param axis 0 for x, 1 for y and 2 for z.
+     */
+    public double getMax(int axis) {
+        return switch (axis) {
+            case 0 -> maxX;
+            case 1 -> maxY;
+            default -> maxZ;
+        };
+    }
+
+    /**
+     * A method to receive the center of the box on an axis.
+     *
+     * @param axis 0 for x, 1 for y and 2 for z.
+     * @return the middle between the minimal and the maximal coordinate.
+     */
+    public double getCenter(int axis) {
+        return (getMin(axis) + getMax(axis)) / 2;
+    }
+
+    /**
+     * A method to check whether the box stretches to infinity on any axis.
+     *
+     * @return true if the box is infinite, false otherwise.
+     */
+    public boolean isInfinite() {
+        return Double.isInfinite(minX) || Double.isInfinite(minY) || Double.isInfinite(minZ)
+                || Double.isInfinite(maxX) || Double.isInfinite(maxY) || Double.isInfinite(maxZ);
+    }
+
+    /**
+     * A method to create the smallest box containing both this box and another one.
+     *
+     * @param other the other box.
+     * @return the united box.
+     */
+    public BoundingBox union(BoundingBox other) {
+        if (this == INFINITE || other == INFINITE) return INFINITE;
+        return new BoundingBox(Math.min(minX, other.minX), Math.min(minY, other.minY), Math.min(minZ, other.minZ),
+                Math.max(maxX, other.maxX), Math.max(maxY, other.maxY), Math.max(maxZ, other.maxZ));
+    }
+
+    /**
+     * A method to calculate the surface area of the box, used to estimate the chance of a ray hitting it.
+     *
+     * @return the box's surface area.
+     */
+    public double surfaceArea() {
+        double dx = maxX - minX;
+        double dy = maxY - minY;
+        double dz = maxZ - minZ;
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    /**
+     * A method to find the distance in which a ray enters the box, using the slabs method.
+     * The calculation multiplies by the ray's precomputed inverse direction and has no
+     * branches per axis, since it is done for every box a ray passes near.
+     *
+     * @param ray         the ray.
+     * @param maxDistance the maximum distance along the ray.
+     * @return the distance from the ray's head to the box (0 if the head is inside the box),
+     * or positive infinity if the ray misses the box or reaches it after the maximum distance.
+     */
+    public double intersect(Ray ray, double maxDistance) {
+        return intersect(minX, minY, minZ, maxX, maxY, maxZ, ray, maxDistance);
+    }
+
+    /**
+     * A method to find the distance in which a ray enters a box that is stored in an array
+     * (6 numbers per box - the minimal x, y, z and the maximal x, y, z), see {@link #intersect(Ray, double)}.
+     *
+     * @param boxes       the array of boxes.
+     * @param index       the index of the box in the array.
+     * @param ray         the ray.
+     * @param maxDistance the maximum distance along the ray.
+     * @return the distance from the ray's head to the box, or positive infinity if it is missed.
+     */
+    static double intersect(double[] boxes, int index, Ray ray, double maxDistance) {
+        int i = 6 * index;
+        return intersect(boxes[i], boxes[i + 1], boxes[i + 2], boxes[i + 3], boxes[i + 4], boxes[i + 5], ray, maxDistance);
+    }
+
+    /**
+     * The slabs method, for a box given by its coordinates.
+     */
+    private static double intersect(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                                    Ray ray, double maxDistance) {
+        Point p0 = ray.getP0();
+        double invX = ray.getInverseDirX(), invY = ray.getInverseDirY(), invZ = ray.getInverseDirZ();
+
+        double t1 = (minX - p0.getX()) * invX;
+        double t2 = (maxX - p0.getX()) * invX;
+        double tNear = Math.min(t1, t2);
+        double tFar = Math.max(t1, t2);
+
+        t1 = (minY - p0.getY()) * invY;
+        t2 = (maxY - p0.getY()) * invY;
+        tNear = Math.max(tNear, Math.min(t1, t2));
+        tFar = Math.min(tFar, Math.max(t1, t2));
+
+        t1 = (minZ - p0.getZ()) * invZ;
+        t2 = (maxZ - p0.getZ()) * invZ;
+        tNear = Math.max(tNear, Math.min(t1, t2));
+        tFar = Math.min(tFar, Math.max(t1, t2));
+
+        tNear = Math.max(tNear, 0);
+        return tNear <= Math.min(tFar, maxDistance) ? tNear : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * A method to check whether a ray passes through the box before reaching a maximum distance.
+     *
+     * @param ray         the ray.
+     * @param maxDistance the maximum distance along the ray.
+     * @return true if the ray crosses the box within the distance, false otherwise.
+     */
+    public boolean intersects(Ray ray, double maxDistance) {
+        return intersect(ray, maxDistance) != Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public String toString() {
+        return "min=(" + minX + "," + minY + "," + minZ + "), max=(" + maxX + "," + maxY + "," + maxZ + ")";
+    }
+}
@@ -4,8 +4,10 @@ import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
 
+import java.util.LinkedList;
 import java.util.List;
 
+import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 /**
@@ -40,7 +42,7 @@ public class Cylinder extends Tube {
             double t = v.dotProduct(p.subtract(p0));
             Point o = p0;
             // if the point is on one of the bases
-            if (isZero(t) || t == height) { // we decided that if it is on the base circle (the edge of the base), the normal will be the base normal
+            if (isZero(t) || isZero(t - height)) { // we decided that if it is on the base circle (the edge of the base), the normal will be the base normal
                 return v;
             } else {
                 return super.getNormal(p);
@@ -48,6 +50,124 @@ public class Cylinder extends Tube {
         }
     }
 
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        Vector v = axisRay.getDir();
+        Point bottom = axisRay.getP0();
+        Point top = axisRay.getPoint(height);
+        // the bases are discs, so on each axis they stretch by the radius times the sine
+        // of the angle between the axis and the cylinder's direction
+        double dx = radius * Math.sqrt(Math.max(0, 1 - v.getX() * v.getX()));
+        double dy = radius * Math.sqrt(Math.max(0, 1 - v.getY() * v.getY()));
+        double dz = radius * Math.sqrt(Math.max(0, 1 - v.getZ() * v.getZ()));
+        return new BoundingBox(Math.min(bottom.getX(), top.getX()) - dx, Math.min(bottom.getY(), top.getY()) - dy,
+                Math.min(bottom.getZ(), top.getZ()) - dz, Math.max(bottom.getX(), top.getX()) + dx,
+                Math.max(bottom.getY(), top.getY()) + dy, Math.max(bottom.getZ(), top.getZ()) + dz);
+    }
+
+    @Override
+    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = new LinkedList<>();
+        double[] distances = sideDistances(ray);
+        if (distances != null)
+            for (double t : distances)
+                if (t > 0 && alignZero(t - maxDistance) <= 0 && onSide(ray, t))
+                    intersections.add(new GeoPoint(this, ray.getPoint(t), t));
+        for (double capHeight : new double[]{0, height}) {
+            double t = capDistance(ray, capHeight);
+            if (t > 0 && alignZero(t - maxDistance) <= 0)
+                intersections.add(new GeoPoint(this, ray.getPoint(t), t));
+        }
+        return intersections.isEmpty() ? null : intersections;
+    }
+
+    @Override
+    protected boolean intersectHelper(Ray ray, GeoPoint hit) {
+        // the side is intersected at most twice - the closer intersection in range is the first one found
+        double side = 0;
+        double[] distances = sideDistances(ray);
+        if (distances != null)
+            for (double t : distances)
+                if (t > 0 && t < hit.distance && onSide(ray, t)) {
+                    side = t;
+                    break;
+                }
+        double bottom = capDistance(ray, 0);
+        double top = capDistance(ray, height);
+
+        double t = side;
+        boolean onBase = false;
+        if (bottom > 0 && (t == 0 || bottom < t)) {
+            t = bottom;
+            onBase = true;
+        }
+        if (top > 0 && (t == 0 || top < t)) {
+            t = top;
+            onBase = true;
+        }
+        if (t == 0 || t >= hit.distance) return false;
+        hit.set(this, t);
+        // the bases' normal is known, the side's one is calculated from the point if it is needed
+        if (onBase) hit.normal = axisRay.getDir();
+        return true;
+    }
+
+    /**
+     * A method to check whether the point of the tube's surface in some distance along a ray is between the bases
+     * (excluding the bases' circles).
+     *
+     * @param ray the ray.
+     * @param t   the distance along the ray.
+     * @return true if the point is on the cylinder's side, false otherwise.
+     */
+    private boolean onSide(Ray ray, double t) {
+        double axial = axialDistance(ray, t);
+        return alignZero(axial) > 0 && alignZero(axial - height) < 0;
+    }
+
+    /**
+     * A method to calculate the distance along a ray to one of the bases (excluding the base's circle),
+     * on coordinates instead of new vectors.
+     *
+     * @param ray       the ray.
+     * @param capHeight the base's distance from the axis' head (0 or the height).
+     * @return the distance, or 0 if the ray doesn't cross the base in front of its head.
+     */
+    private double capDistance(Ray ray, double capHeight) {
+        Vector v = axisRay.getDir();
+        Vector d = ray.getDir();
+        double dv = alignZero(d.getX() * v.getX() + d.getY() * v.getY() + d.getZ() * v.getZ());
+        // the ray is parallel to the base
+        if (dv == 0) return 0;
+        double t = alignZero((capHeight - axialDistance(ray, 0)) / dv);
+        if (t <= 0) return 0;
+
+        // the point's distance from the base's center must be less than the radius
+        Point head = axisRay.getP0();
+        Point p0 = ray.getP0();
+        double qx = p0.getX() + t * d.getX() - head.getX() - capHeight * v.getX();
+        double qy = p0.getY() + t * d.getY() - head.getY() - capHeight * v.getY();
+        double qz = p0.getZ() + t * d.getZ() - head.getZ() - capHeight * v.getZ();
+        return alignZero(radius * radius - (qx * qx + qy * qy + qz * qz)) > 0 ? t : 0;
+    }
+
+    /**
+     * A method to calculate the distance along the axis, from the axis' head, of the projection of a ray's point.
+     *
+     * @param ray the ray.
+     * @param t   the distance of the point along the ray.
+     * @return the distance along the axis (negative below the bottom base).
+     */
+    private double axialDistance(Ray ray, double t) {
+        Vector v = axisRay.getDir();
+        Vector d = ray.getDir();
+        Point head = axisRay.getP0();
+        Point p0 = ray.getP0();
+        return (p0.getX() + t * d.getX() - head.getX()) * v.getX()
+                + (p0.getY() + t * d.getY() - head.getY()) * v.getY()
+                + (p0.getZ() + t * d.getZ() - head.getZ()) * v.getZ();
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
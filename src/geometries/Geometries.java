@@ -1,6 +1,6 @@
 package geometries;
 
-import primitives.Point;
+import primitives.Double3;
 import primitives.Ray;
 
 import java.util.LinkedList;
@@ -8,6 +8,8 @@ import java.util.List;
 
 /**
  * This class represents a collection of intersectables.
+ * The collection can be arranged as a bounding volume hierarchy (BVH) - a tree of nested
+ * collections, each one bounded by a box, so a ray only checks the objects it passes near.
  */
 
 public class Geometries extends Intersectable {
@@ -24,7 +26,8 @@ public class Geometries extends Intersectable {
      * A contractor to initialise a new Geometries object with a list of intersectables.
      **/
     public Geometries(Intersectable... geometries) {
-        intersectables = List.of(geometries);
+        this();
+        add(geometries);
     }
 
     /**
@@ -32,12 +35,85 @@ public class Geometries extends Intersectable {
      **/
     public void add(Intersectable... geometries) {
         intersectables.addAll(List.of(geometries));
+        resetBoundingBox();
+    }
+
+    /**
+     * A method to arrange the intersectables as a bounding volume hierarchy.
+     * The tree is built top-down, each node is split by the surface area heuristic (SAH),
+     * and the unbounded intersectables (planes, tubes) remain in the top level.
+     * The method should be called after all the intersectables were added.
+     *
+     * @return the Geometries object.
+     **/
+    public Geometries buildBvh() {
+        List<Intersectable> bounded = new LinkedList<>();
+        List<Intersectable> unbounded = new LinkedList<>();
+        for (Intersectable intersectable : intersectables)
+            (intersectable.getBoundingBox().isInfinite() ? unbounded : bounded).add(intersectable);
+        if (bounded.size() <= SahSplitter.LEAF_SIZE) return this;
+
+        Intersectable[] items = bounded.toArray(new Intersectable[0]);
+        double[] boxes = new double[6 * items.length];
+        int[] order = new int[items.length];
+        for (int i = 0; i < items.length; ++i) {
+            BoundingBox box = items[i].getBoundingBox();
+            for (int axis = 0; axis < 3; ++axis) {
+                boxes[6 * i + axis] = box.getMin(axis);
+                boxes[6 * i + 3 + axis] = box.getMax(axis);
+            }
+            order[i] = i;
+        }
+
+        intersectables.clear();
+        intersectables.addAll(unbounded);
+        intersectables.add(buildBvh(items, boxes, order, 0, items.length));
+        resetBoundingBox();
+        return this;
+    }
+
+    /**
+     * A recursive method to build a hierarchy node from a range of intersectables.
+     * The range is reordered in place so each child node gets a continuous part of it.
+     *
+     * @param items the intersectables.
+     * @param boxes the bounding boxes of the intersectables, 6 numbers per intersectable.
+     * @param order the permutation of the intersectables.
+     * @param from  the first index of the range (inclusive).
+     * @param to    the last index of the range (exclusive).
+     * @return the node bounding the range.
+     **/
+    private static Intersectable buildBvh(Intersectable[] items, double[] boxes, int[] order, int from, int to) {
+        if (to - from == 1) return items[order[from]];
+
+        int middle = SahSplitter.split(boxes, order, from, to);
+        if (middle == -1) {
+            Intersectable[] leaf = new Intersectable[to - from];
+            for (int i = from; i < to; ++i)
+                leaf[i - from] = items[order[i]];
+            return new Geometries(leaf);
+        }
+        return new Geometries(buildBvh(items, boxes, order, from, middle), buildBvh(items, boxes, order, middle, to));
+    }
+
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        BoundingBox bounds = null;
+        for (Intersectable intersectable : intersectables) {
+            BoundingBox childBox = intersectable.getBoundingBox();
+            bounds = bounds == null ? childBox : bounds.union(childBox);
+        }
+        return bounds == null ? BoundingBox.INFINITE : bounds;
     }
 
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
         List<GeoPoint> intersections = null;
         for (Intersectable intersectable : intersectables) {
+            // skip the intersectables whose box is missed by the ray or is farther than the maximum distance
+            BoundingBox box = intersectable.getBoundingBox();
+            if (box != BoundingBox.INFINITE && !box.intersects(ray, maxDistance))
+                continue;
             var geoIntersections = intersectable.findGeoIntersections(ray, maxDistance);
             if (geoIntersections != null) {
                 if (intersections == null) intersections = new LinkedList<>();
@@ -46,4 +122,33 @@ public class Geometries extends Intersectable {
         }
         return intersections;
     }
+
+    @Override
+    protected boolean intersectHelper(Ray ray, GeoPoint hit) {
+        boolean found = false;
+        for (Intersectable intersectable : intersectables) {
+            // the closest intersection so far limits the search in the rest of the intersectables
+            BoundingBox box = intersectable.getBoundingBox();
+            if (box != BoundingBox.INFINITE && !box.intersects(ray, hit.distance))
+                continue;
+            if (intersectable.intersectHelper(ray, hit))
+                found = true;
+        }
+        return found;
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, GeoPoint hit) {
+        Double3 ktr = Double3.ONE;
+        for (Intersectable intersectable : intersectables) {
+            BoundingBox box = intersectable.getBoundingBox();
+            if (box != BoundingBox.INFINITE && !box.intersects(ray, maxDistance))
+                continue;
+            Double3 kT = intersectable.findTransparencyHelper(ray, maxDistance, hit);
+            // there's no need to look for more blockers once the ray is blocked completely
+            if (kT == Double3.ZERO) return Double3.ZERO;
+            if (kT != Double3.ONE) ktr = ktr.product(kT);
+        }
+        return ktr;
+    }
 }
@@ -1,9 +1,8 @@
 package geometries;
 
-import primitives.Color;
-import primitives.Material;
-import primitives.Point;
-import primitives.Vector;
+import primitives.*;
+
+import java.util.List;
 
 /**
  * This interface will be a basic form for all geometries.
@@ -38,6 +37,32 @@ public abstract class Geometry extends Intersectable {
         return this;
     }
 
+    @Override
+    protected boolean intersectHelper(Ray ray, GeoPoint hit) {
+        // a general geometry finds all its intersections, which already know their distance
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, hit.distance);
+        if (intersections == null) return false;
+        boolean found = false;
+        for (GeoPoint intersection : intersections)
+            if (intersection.distance < hit.distance) {
+                hit.set(this, intersection.distance);
+                found = true;
+            }
+        return found;
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, GeoPoint hit) {
+        // an opaque geometry blocks the ray with any intersection, so there's no need to collect them
+        if (!material.isTransparent())
+            return intersectHelper(ray, hit.reset(maxDistance)) ? Double3.ZERO : Double3.ONE;
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, maxDistance);
+        if (intersections == null) return Double3.ONE;
+        Double3 ktr = Double3.ONE;
+        for (GeoPoint ignored : intersections)
+            ktr = ktr.product(material.kT);
+        return ktr;
+    }
 
     /**
      * The function will return the normal to a geometric object in some point p.
@@ -1,7 +1,9 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
+import primitives.Vector;
 
 import java.util.List;
 
@@ -19,6 +21,36 @@ public abstract class Intersectable {
         return geoList == null ? null : geoList.stream().map(gp -> gp.point).toList();
     }
 
+    // the box bounding the intersectable, calculated once on the first request
+    private BoundingBox boundingBox = null;
+
+    /**
+     * The function will return the axis aligned box bounding the intersectable.
+     * The box is calculated on the first call and cached for the next ones.
+     *
+     * @return the bounding box, {@link BoundingBox#INFINITE} if the intersectable is unbounded.
+     */
+    public final BoundingBox getBoundingBox() {
+        BoundingBox box = boundingBox;
+        if (box == null)
+            boundingBox = box = calcBoundingBox();
+        return box;
+    }
+
+    /**
+     * A method to drop the cached bounding box, for intersectables that may change after it was calculated.
+     */
+    protected void resetBoundingBox() {
+        boundingBox = null;
+    }
+
+    /**
+     * An abstract method to calculate the axis aligned box bounding the intersectable.
+     *
+     * @return the bounding box, {@link BoundingBox#INFINITE} if the intersectable is unbounded.
+     */
+    protected abstract BoundingBox calcBoundingBox();
+
     /**
      * PDS class representing a point and the geometry it is on.
      */
@@ -27,6 +59,20 @@ public abstract class Intersectable {
         public Geometry geometry;
         // The point
         public Point point;
+        // The distance of the point from the head of the ray which intersected it (NaN if unknown)
+        public double distance;
+        // The normal to the geometry in the point, null until it is needed
+        public Vector normal;
+        // The barycentric coordinates of the point on a triangle (NaN for other geometries)
+        public double u = Double.NaN, v = Double.NaN;
+
+        /**
+         * Constructor to initialize an empty geoPoint, used as a reusable intersection record.
+         * Intersection routines fill the record in place instead of allocating new geoPoints.
+         */
+        public GeoPoint() {
+            this(null, null, Double.POSITIVE_INFINITY);
+        }
 
         /**
          * Constructor to initialize a geoPoint object
@@ -35,8 +81,60 @@ public abstract class Intersectable {
          * @param point    the point.
          */
         public GeoPoint(Geometry geometry, Point point) {
+            this(geometry, point, Double.NaN);
+        }
+
+        /**
+         * Constructor to initialize a geoPoint object of an intersection with a ray
+         *
+         * @param geometry the geometry of the point.
+         * @param point    the point.
+         * @param distance the distance of the point along the ray (its parameter t).
+         */
+        public GeoPoint(Geometry geometry, Point point, double distance) {
             this.geometry = geometry;
             this.point = point;
+            this.distance = distance;
+        }
+
+        /**
+         * A method to prepare the record for a new search of the closest intersection.
+         *
+         * @param maxDistance the maximum distance of the intersection.
+         * @return the record.
+         */
+        public GeoPoint reset(double maxDistance) {
+            geometry = null;
+            point = null;
+            normal = null;
+            distance = maxDistance;
+            u = v = Double.NaN;
+            return this;
+        }
+
+        /**
+         * A method to fill the record with a new intersection (the point itself is calculated later, if needed).
+         *
+         * @param geometry the intersected geometry.
+         * @param distance the distance of the intersection along the ray.
+         */
+        public void set(Geometry geometry, double distance) {
+            this.geometry = geometry;
+            this.distance = distance;
+            point = null;
+            normal = null;
+            u = v = Double.NaN;
+        }
+
+        /**
+         * Getter to receive the normal to the geometry in the point.
+         * The normal is calculated once, unless the geometry already provided it during the intersection.
+         *
+         * @return the normal.
+         */
+        public Vector getNormal() {
+            if (normal == null) normal = geometry.getNormal(point);
+            return normal;
         }
 
         @Override
@@ -81,4 +179,90 @@ public abstract class Intersectable {
      *                    in order to prevent cases when objects behind the lightSource will shadow the main object.
      **/
     protected abstract List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance);
+
+    /**
+     * A method to find the closest intersection between a ray and an object.
+     *
+     * @param ray the ray.
+     * @return the closest intersection, null if there is none.
+     **/
+    public final GeoPoint findClosestGeoIntersection(Ray ray) {
+        return findClosestGeoIntersection(ray, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * A method to find the closest intersection between a ray and an object with a maximum distance.
+     * No list of intersections is built, and the returned point carries its distance along the ray.
+     *
+     * @param ray         the ray.
+     * @param maxDistance the maximum distance we will look for an intersection to.
+     * @return the closest intersection, null if there is none.
+     **/
+    public final GeoPoint findClosestGeoIntersection(Ray ray, double maxDistance) {
+        GeoPoint hit = new GeoPoint().reset(maxDistance);
+        return intersect(ray, hit) ? hit : null;
+    }
+
+    /**
+     * A method to find the closest intersection between a ray and an object into a reusable record,
+     * without allocating anything but the intersection point itself.
+     * The record's distance limits the search, so it should be reset before a new search.
+     *
+     * @param ray the ray.
+     * @param hit the record - filled with the intersection if a closer one than its current distance is found.
+     * @return true if an intersection was found, false otherwise (the record is unchanged).
+     **/
+    public final boolean intersect(Ray ray, GeoPoint hit) {
+        if (!intersectHelper(ray, hit)) return false;
+        // only the accepted intersection's point is calculated
+        hit.point = ray.getPoint(hit.distance);
+        return true;
+    }
+
+    /**
+     * An abstract method to help find the closest intersection between a ray and an object.
+     * Implementations fill the record by {@link GeoPoint#set(Geometry, double)} and don't calculate the point.
+     *
+     * @param ray the ray.
+     * @param hit the record, its distance is the maximum distance of an intersection.
+     * @return true if an intersection was found, false otherwise.
+     **/
+    protected abstract boolean intersectHelper(Ray ray, GeoPoint hit);
+
+    /**
+     * A method to calculate how much light passes through the intersectable along a ray up to a maximum distance,
+     * i.e. the product of the transparency factors of all the geometries the ray crosses.
+     * Unlike finding the intersections, the search stops at the first opaque geometry.
+     *
+     * @param ray         the ray.
+     * @param maxDistance the maximum distance we will look for blocking geometries to.
+     * @return the transparency factor - {@link Double3#ONE} if nothing blocks the ray,
+     * {@link Double3#ZERO} if an opaque geometry blocks it.
+     **/
+    public final Double3 findTransparency(Ray ray, double maxDistance) {
+        return findTransparency(ray, maxDistance, new GeoPoint());
+    }
+
+    /**
+     * A method to calculate how much light passes through the intersectable along a ray,
+     * using a reusable record for the intersections with opaque geometries.
+     *
+     * @param ray         the ray.
+     * @param maxDistance the maximum distance we will look for blocking geometries to.
+     * @param hit         a record to use during the search, its content is overwritten.
+     * @return the transparency factor.
+     **/
+    public final Double3 findTransparency(Ray ray, double maxDistance, GeoPoint hit) {
+        return findTransparencyHelper(ray, maxDistance, hit);
+    }
+
+    /**
+     * An abstract method to help calculate the transparency of the intersectable along a ray.
+     *
+     * @param ray         the ray.
+     * @param maxDistance the maximum distance we will look for blocking geometries to.
+     * @param hit         a record to use during the search.
+     * @return the transparency factor.
+     **/
+    protected abstract Double3 findTransparencyHelper(Ray ray, double maxDistance, GeoPoint hit);
 }
@@ -0,0 +1,407 @@
+package geometries;
+
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
+
+/**
+ * This class will represent a triangle mesh in a 3D world.
+ * The vertices are kept in a flat array (x, y, z of every vertex) and shared by the faces, which are kept as an
+ * index buffer (3 vertex indices per triangle), and all the faces have the mesh's emission and material.
+ * The faces are arranged in a bounding volume hierarchy that is stored in flat arrays as well, so a mesh costs
+ * a few tens of bytes per face instead of a whole {@link Triangle} object.
+ */
+public class Mesh extends Geometry {
+    // the coordinates of the vertices, 3 numbers per vertex
+    private final double[] vertices;
+    // the vertex indices of the faces, 3 indices per face, ordered by the leaves of the hierarchy
+    private final int[] faces;
+
+    // the hierarchy's nodes in depth first order (the first child of an inner node is the node after it):
+    // the boxes of the nodes, 6 numbers per node
+    private final double[] nodeBoxes;
+    // the first face of a leaf, or the index of the second child of an inner node
+    private final int[] nodeStart;
+    // the amount of faces of a leaf, or 0 for an inner node
+    private final int[] nodeCount;
+
+    /**
+     * Constructor to initialize a mesh with its vertices and faces.
+     *
+     * @param vertices the coordinates of the vertices - x, y and z of every vertex.
+     * @param indices  the faces - the indices of the 3 vertices of every triangle.
+     * @throws IllegalArgumentException if the arrays' lengths aren't divided by 3, if there are no faces,
+     *                                  or if a face refers to a vertex that doesn't exist.
+     */
+    public Mesh(double[] vertices, int[] indices) {
+        if (vertices.length % 3 != 0)
+            throw new IllegalArgumentException("vertices array must contain 3 coordinates per vertex");
+        if (indices.length % 3 != 0 || indices.length == 0)
+            throw new IllegalArgumentException("indices array must contain 3 vertex indices per face");
+        int vertexCount = vertices.length / 3;
+        for (int index : indices)
+            if (index < 0 || index >= vertexCount)
+                throw new IllegalArgumentException("face refers to a vertex that doesn't exist");
+        this.vertices = vertices.clone();
+
+        int faceCount = indices.length / 3;
+        double[] boxes = new double[6 * faceCount];
+        int[] order = new int[faceCount];
+        for (int f = 0; f < faceCount; ++f) {
+            for (int axis = 0; axis < 3; ++axis) {
+                double a = vertices[3 * indices[3 * f] + axis];
+                double b = vertices[3 * indices[3 * f + 1] + axis];
+                double c = vertices[3 * indices[3 * f + 2] + axis];
+                boxes[6 * f + axis] = Math.min(a, Math.min(b, c));
+                boxes[6 * f + 3 + axis] = Math.max(a, Math.max(b, c));
+            }
+            order[f] = f;
+        }
+
+        HierarchyBuilder builder = new HierarchyBuilder(boxes, order);
+        builder.build(0, faceCount);
+        nodeBoxes = Arrays.copyOf(builder.nodeBoxes, 6 * builder.nodes);
+        nodeStart = Arrays.copyOf(builder.nodeStart, builder.nodes);
+        nodeCount = Arrays.copyOf(builder.nodeCount, builder.nodes);
+
+        faces = new int[indices.length];
+        for (int f = 0; f < faceCount; ++f)
+            System.arraycopy(indices, 3 * order[f], faces, 3 * f, 3);
+    }
+
+    /**
+     * A helper class to build the flat hierarchy of the faces.
+     */
+    private static class HierarchyBuilder {
+        private final double[] boxes;
+        private final int[] order;
+        // a hierarchy of n faces has at most 2n-1 nodes
+        private final double[] nodeBoxes;
+        private final int[] nodeStart;
+        private final int[] nodeCount;
+        private int nodes = 0;
+
+        HierarchyBuilder(double[] boxes, int[] order) {
+            this.boxes = boxes;
+            this.order = order;
+            int maxNodes = 2 * order.length - 1;
+            nodeBoxes = new double[6 * maxNodes];
+            nodeStart = new int[maxNodes];
+            nodeCount = new int[maxNodes];
+        }
+
+        /**
+         * A recursive method to build a node from a range of faces.
+         *
+         * @param from the first index of the range (inclusive).
+         * @param to   the last index of the range (exclusive).
+         * @return the index of the node.
+         */
+        int build(int from, int to) {
+            int node = nodes++;
+            System.arraycopy(boxes, 6 * order[from], nodeBoxes, 6 * node, 6);
+            for (int i = from + 1; i < to; ++i)
+                SahSplitter.unite(nodeBoxes, node, boxes, order[i]);
+
+            int middle = to - from == 1 ? -1 : SahSplitter.split(boxes, order, from, to);
+            if (middle == -1) {
+                nodeStart[node] = from;
+                nodeCount[node] = to - from;
+            } else {
+                build(from, middle);
+                nodeStart[node] = build(middle, to);
+                nodeCount[node] = 0;
+            }
+            return node;
+        }
+    }
+
+    /**
+     * Getter to receive the amount of faces in the mesh.
+     */
+    public int getFacesCount() {
+        return faces.length / 3;
+    }
+
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        return new BoundingBox(nodeBoxes[0], nodeBoxes[1], nodeBoxes[2], nodeBoxes[3], nodeBoxes[4], nodeBoxes[5]);
+    }
+
+    /**
+     * The normal is found together with the intersection, so this method is used only for points that weren't
+     * found by intersecting. The face containing the point is searched through the hierarchy - only the leaves
+     * whose boxes contain the point are checked.
+     *
+     * @throws IllegalArgumentException if the point isn't on the mesh.
+     */
+    @Override
+    public Vector getNormal(Point p) {
+        Vector normal = findNormal(0, p.getX(), p.getY(), p.getZ());
+        if (normal == null)
+            throw new IllegalArgumentException("the point isn't on the mesh");
+        return normal;
+    }
+
+    /**
+     * A recursive method to find the normal of the face of a node containing a point.
+     *
+     * @param node the node.
+     * @param px   the x coordinate of the point.
+     * @param py   the y coordinate of the point.
+     * @param pz   the z coordinate of the point.
+     * @return the unit normal, null if no face of the node contains the point.
+     */
+    private Vector findNormal(int node, double px, double py, double pz) {
+        int box = 6 * node;
+        if (alignZero(nodeBoxes[box] - px) > 0 || alignZero(nodeBoxes[box + 1] - py) > 0
+                || alignZero(nodeBoxes[box + 2] - pz) > 0 || alignZero(px - nodeBoxes[box + 3]) > 0
+                || alignZero(py - nodeBoxes[box + 4]) > 0 || alignZero(pz - nodeBoxes[box + 5]) > 0)
+            return null;
+        if (nodeCount[node] > 0) {
+            for (int f = nodeStart[node]; f < nodeStart[node] + nodeCount[node]; ++f) {
+                Vector normal = faceNormalAt(f, px, py, pz);
+                if (normal != null) return normal;
+            }
+            return null;
+        }
+        Vector normal = findNormal(node + 1, px, py, pz);
+        return normal != null ? normal : findNormal(nodeStart[node], px, py, pz);
+    }
+
+    /**
+     * A method to calculate the normal of a face in a point, if the face contains the point.
+     *
+     * @param face the face.
+     * @param px   the x coordinate of the point.
+     * @param py   the y coordinate of the point.
+     * @param pz   the z coordinate of the point.
+     * @return the unit normal, null if the point isn't on the face.
+     */
+    private Vector faceNormalAt(int face, double px, double py, double pz) {
+        int a = 3 * faces[3 * face], b = 3 * faces[3 * face + 1], c = 3 * faces[3 * face + 2];
+        double e1x = vertices[b] - vertices[a], e1y = vertices[b + 1] - vertices[a + 1], e1z = vertices[b + 2] - vertices[a + 2];
+        double e2x = vertices[c] - vertices[a], e2y = vertices[c + 1] - vertices[a + 1], e2z = vertices[c + 2] - vertices[a + 2];
+        double sx = px - vertices[a], sy = py - vertices[a + 1], sz = pz - vertices[a + 2];
+        double nx = e1y * e2z - e1z * e2y, ny = e1z * e2x - e1x * e2z, nz = e1x * e2y - e1y * e2x;
+        double nLength = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (isZero(nLength) || !isZero((nx * sx + ny * sy + nz * sz) / nLength)) return null;
+
+        // the barycentric coordinates of the point in the face
+        double d11 = e1x * e1x + e1y * e1y + e1z * e1z;
+        double d12 = e1x * e2x + e1y * e2y + e1z * e2z;
+        double d22 = e2x * e2x + e2y * e2y + e2z * e2z;
+        double d1s = e1x * sx + e1y * sy + e1z * sz;
+        double d2s = e2x * sx + e2y * sy + e2z * sz;
+        double denominator = d11 * d22 - d12 * d12;
+        double u = alignZero((d22 * d1s - d12 * d2s) / denominator);
+        double v = alignZero((d11 * d2s - d12 * d1s) / denominator);
+        if (u >= 0 && v >= 0 && alignZero(1 - u - v) >= 0)
+            return new Vector(nx / nLength, ny / nLength, nz / nLength);
+        return null;
+    }
+
+    @Override
+    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        if (BoundingBox.intersect(nodeBoxes, 0, ray, maxDistance) == Double.POSITIVE_INFINITY)
+            return null;
+        List<GeoPoint> intersections = new LinkedList<>();
+        collectIntersections(0, ray, maxDistance, new GeoPoint(), intersections);
+        return intersections.isEmpty() ? null : intersections;
+    }
+
+    /**
+     * A recursive method to collect the intersections with the faces of a node.
+     *
+     * @param node          the node (whose box is known to be crossed by the ray).
+     * @param ray           the ray.
+     * @param maxDistance   the maximum distance along the ray.
+     * @param hit           a record to check the faces with.
+     * @param intersections the list the intersections are added to.
+     */
+    private void collectIntersections(int node, Ray ray, double maxDistance, GeoPoint hit, List<GeoPoint> intersections) {
+        if (nodeCount[node] > 0) {
+            for (int f = nodeStart[node]; f < nodeStart[node] + nodeCount[node]; ++f)
+                // an intersection at the maximum distance itself is included
+                if (intersectFace(f, ray, hit.reset(Math.nextUp(maxDistance)))) {
+                    GeoPoint intersection = new GeoPoint(this, ray.getPoint(hit.distance), hit.distance);
+                    intersection.normal = faceNormal(f);
+                    intersection.u = hit.u;
+                    intersection.v = hit.v;
+                    intersections.add(intersection);
+                }
+            return;
+        }
+        int second = nodeStart[node];
+        if (BoundingBox.intersect(nodeBoxes, node + 1, ray, maxDistance) != Double.POSITIVE_INFINITY)
+            collectIntersections(node + 1, ray, maxDistance, hit, intersections);
+        if (BoundingBox.intersect(nodeBoxes, second, ray, maxDistance) != Double.POSITIVE_INFINITY)
+            collectIntersections(second, ray, maxDistance, hit, intersections);
+    }
+
+    @Override
+    protected boolean intersectHelper(Ray ray, GeoPoint hit) {
+        if (BoundingBox.intersect(nodeBoxes, 0, ray, hit.distance) == Double.POSITIVE_INFINITY)
+            return false;
+        int face = closestFace(0, ray, hit, -1);
+        if (face == -1) return false;
+        // the normal is calculated only for the closest face
+        hit.normal = faceNormal(face);
+        return true;
+    }
+
+    /**
+     * A recursive method to find the closest face of a node, the nearer child is checked first
+     * so the farther one is usually skipped.
+     *
+     * @param node    the node (whose box is known to be crossed by the ray before the current intersection).
+     * @param ray     the ray.
+     * @param hit     the closest intersection so far, updated if a closer face is found.
+     * @param closest the closest face so far, -1 if none.
+     * @return the closest face, -1 if none.
+     */
+    private int closestFace(int node, Ray ray, GeoPoint hit, int closest) {
+        if (nodeCount[node] > 0) {
+            for (int f = nodeStart[node]; f < nodeStart[node] + nodeCount[node]; ++f)
+                if (intersectFace(f, ray, hit)) closest = f;
+            return closest;
+        }
+        int near = node + 1;
+        int far = nodeStart[node];
+        double tNear = BoundingBox.intersect(nodeBoxes, near, ray, hit.distance);
+        double tFar = BoundingBox.intersect(nodeBoxes, far, ray, hit.distance);
+        if (tFar < tNear) {
+            int tmpNode = near;
+            near = far;
+            far = tmpNode;
+            double tmp = tNear;
+            tNear = tFar;
+            tFar = tmp;
+        }
+        if (tNear != Double.POSITIVE_INFINITY)
+            closest = closestFace(near, ray, hit, closest);
+        // the nearer child may have found an intersection before the farther child's box
+        if (tFar < hit.distance)
+            closest = closestFace(far, ray, hit, closest);
+        return closest;
+    }
+
+    /**
+     * A method to intersect a ray with a face by the watertight algorithm of Woop, Benthin and Wald.
+     * The vertices are moved to a space where the ray is on the z axis, and the ray crosses the face if it is on
+     * the same side of the face's three edges there. The side of an edge is calculated only from the edge's two
+     * vertices, which are shared by the faces of the edge, so the two faces get exactly opposite results.
+     * A ray crossing an edge (or a vertex) exactly is given to the faces for which it is inside after moving it
+     * slightly along the space's x axis (and then its y axis) - so a ray crossing the mesh hits exactly one face.
+     *
+     * @param face the face.
+     * @param ray  the ray.
+     * @param hit  the closest intersection so far, set to the face's intersection if it is closer.
+     *             The barycentric coordinates u and v are the weights of the face's second and third vertices.
+     * @return true if the face is intersected before the current intersection, false otherwise.
+     */
+    private boolean intersectFace(int face, Ray ray, GeoPoint hit) {
+        Vector dir = ray.getDir();
+        double dx = dir.getX(), dy = dir.getY(), dz = dir.getZ();
+        // the space's z axis is the ray's largest component, and x and y keep the handedness
+        int kz = Math.abs(dx) > Math.abs(dy) ? (Math.abs(dx) > Math.abs(dz) ? 0 : 2) : (Math.abs(dy) > Math.abs(dz) ? 1 : 2);
+        int kx = kz == 2 ? 0 : kz + 1;
+        int ky = kx == 2 ? 0 : kx + 1;
+        double dirZ = axis(dx, dy, dz, kz);
+        if (dirZ < 0) {
+            int tmp = kx;
+            kx = ky;
+            ky = tmp;
+        }
+        // the shear moving the ray onto the z axis
+        double shearX = axis(dx, dy, dz, kx) / dirZ, shearY = axis(dx, dy, dz, ky) / dirZ, shearZ = 1 / dirZ;
+
+        Point p0 = ray.getP0();
+        double ox = p0.getX(), oy = p0.getY(), oz = p0.getZ();
+        double originX = axis(ox, oy, oz, kx), originY = axis(ox, oy, oz, ky), originZ = axis(ox, oy, oz, kz);
+        int a = 3 * faces[3 * face], b = 3 * faces[3 * face + 1], c = 3 * faces[3 * face + 2];
+        double aZ = vertices[a + kz] - originZ, bZ = vertices[b + kz] - originZ, cZ = vertices[c + kz] - originZ;
+        double aX = vertices[a + kx] - originX - shearX * aZ, aY = vertices[a + ky] - originY - shearY * aZ;
+        double bX = vertices[b + kx] - originX - shearX * bZ, bY = vertices[b + ky] - originY - shearY * bZ;
+        double cX = vertices[c + kx] - originX - shearX * cZ, cY = vertices[c + ky] - originY - shearY * cZ;
+
+        // the sides of the edges opposite to each vertex (scaled barycentric coordinates)
+        double edgeA = edgeSide(bX, bY, cX, cY);
+        double edgeB = edgeSide(cX, cY, aX, aY);
+        double edgeC = edgeSide(aX, aY, bX, bY);
+        if ((edgeA < 0 || edgeB < 0 || edgeC < 0) && (edgeA > 0 || edgeB > 0 || edgeC > 0)) return false;
+        double det = edgeA + edgeB + edgeC;
+        // the ray is parallel to the face
+        if (det == 0) return false;
+        if (edgeA == 0 && !ownsEdge(bX, bY, cX, cY, det) || edgeB == 0 && !ownsEdge(cX, cY, aX, aY, det)
+                || edgeC == 0 && !ownsEdge(aX, aY, bX, bY, det))
+            return false;
+
+        double t = alignZero((edgeA * aZ + edgeB * bZ + edgeC * cZ) * shearZ / det);
+        if (t <= 0 || t >= hit.distance) return false;
+        hit.set(this, t);
+        hit.u = edgeB / det;
+        hit.v = edgeC / det;
+        return true;
+    }
+
+    /**
+     * A method to select a coordinate by its axis.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @param z the z coordinate.
+     * @param k the axis - 0, 1 or 2.
+     * @return the coordinate.
+     */
+    private static double axis(double x, double y, double z, int k) {
+        return k == 0 ? x : k == 1 ? y : z;
+    }
+
+    /**
+     * A method to calculate the side of the ray (at the origin of the ray's space) of a directed edge.
+     * Swapping the edge's vertices negates the result exactly.
+     *
+     * @return the side, 0 if the ray crosses the edge's line.
+     */
+    private static double edgeSide(double pX, double pY, double qX, double qY) {
+        return qX * pY - qY * pX;
+    }
+
+    /**
+     * A method to decide whether a ray crossing an edge exactly crosses the face - if the ray is inside the face
+     * after moving it slightly along the x axis (or along the y axis, for an edge parallel to the x axis).
+     * The face on the other side of the edge has the edge in the opposite direction, so exactly one of them owns it.
+     *
+     * @param det the sum of the edges' sides, whose sign is the side of the face's inside.
+     * @return true if the face owns the edge.
+     */
+    private static boolean ownsEdge(double pX, double pY, double qX, double qY, double det) {
+        double ex = qX - pX, ey = qY - pY;
+        if (det < 0) {
+            ex = -ex;
+            ey = -ey;
+        }
+        return ey > 0 || ey == 0 && ex < 0;
+    }
+
+    /**
+     * A method to calculate the normal of a face, in the direction of e1 x e2 like {@link Triangle}.
+     *
+     * @param face the face.
+     * @return the unit normal.
+     */
+    private Vector faceNormal(int face) {
+        int a = 3 * faces[3 * face], b = 3 * faces[3 * face + 1], c = 3 * faces[3 * face + 2];
+        Vector e1 = new Vector(vertices[b] - vertices[a], vertices[b + 1] - vertices[a + 1], vertices[b + 2] - vertices[a + 2]);
+        Vector e2 = new Vector(vertices[c] - vertices[a], vertices[c + 1] - vertices[a + 1], vertices[c + 2] - vertices[a + 2]);
+        return e1.crossProduct(e2).normalize();
+    }
+}
@@ -68,6 +68,12 @@ public class Plane extends Geometry {
         return getNormal();
     }
 
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        // the plane stretches to infinity
+        return BoundingBox.INFINITE;
+    }
+
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
         Vector v = ray.getDir();
@@ -89,7 +95,35 @@ public class Plane extends Geometry {
         if(!ray.inRange(intersection, maxDistance))
             return null;
 
-        return List.of(new GeoPoint(this, intersection));
+        return List.of(new GeoPoint(this, intersection, t));
+    }
+
+    @Override
+    protected boolean intersectHelper(Ray ray, GeoPoint hit) {
+        double t = intersectionDistance(ray);
+        if (t <= 0 || t >= hit.distance) return false;
+        hit.set(this, t);
+        hit.normal = normal;
+        return true;
+    }
+
+    /**
+     * A method to calculate the distance along a ray to the plane, without allocating any vector.
+     *
+     * @param ray the ray.
+     * @return the distance to the plane, 0 if the ray doesn't intersect the plane in front of its head.
+     */
+    double intersectionDistance(Ray ray) {
+        Vector v = ray.getDir();
+        Point p0 = ray.getP0();
+        double nv = alignZero(normal.getX() * v.getX() + normal.getY() * v.getY() + normal.getZ() * v.getZ());
+        // ray is parallel to the plane or p0 is q0
+        if (nv == 0 || q0.equals(p0)) return 0;
+
+        double nQMinusP0 = normal.getX() * (q0.getX() - p0.getX()) + normal.getY() * (q0.getY() - p0.getY())
+                + normal.getZ() * (q0.getZ() - p0.getZ());
+        double t = alignZero(alignZero(nQMinusP0) / nv);
+        return t > 0 ? t : 0;
     }
 
     @Override
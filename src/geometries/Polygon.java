@@ -1,14 +1,10 @@
 package geometries;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
-import java.util.LinkedList;
 import java.util.List;
 
-import org.junit.jupiter.api.Test;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -30,6 +26,10 @@ public class Polygon extends Geometry {
     protected final Plane plane;
     private final int size;
 
+    // The coordinates of the vertices, 3 per vertex, and of the edges from every vertex to the next one, 3 per edge.
+    // Both are calculated once in construction for the inside test.
+    private final double[] vertexCoordinates, edgeCoordinates;
+
     /**
      * Polygon constructor based on vertices list. The list must be ordered by edge
      * path. The polygon must be convex.
@@ -62,6 +62,17 @@ public class Polygon extends Geometry {
         // polygon with this plane.
         // The plane holds the invariant normal (orthogonal unit) vector to the polygon
         plane = new Plane(vertices[0], vertices[1], vertices[2]);
+
+        vertexCoordinates = new double[3 * size];
+        for (int i = 0; i < size; ++i) {
+            vertexCoordinates[3 * i] = vertices[i].getX();
+            vertexCoordinates[3 * i + 1] = vertices[i].getY();
+            vertexCoordinates[3 * i + 2] = vertices[i].getZ();
+        }
+        edgeCoordinates = new double[3 * size];
+        for (int i = 0; i < 3 * size; ++i)
+            edgeCoordinates[i] = vertexCoordinates[(i + 3) % (3 * size)] - vertexCoordinates[i];
+
         if (size == 3) return; // no need for more tests for a Triangle
 
         Vector n = plane.getNormal();
@@ -97,6 +108,11 @@ public class Polygon extends Geometry {
         return plane.getNormal();
     }
 
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        return new BoundingBox(vertices.toArray(new Point[size]));
+    }
+
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
         // find intersection with the polygon's plane
@@ -104,46 +120,61 @@ public class Polygon extends Geometry {
         if (intersect == null)
             return null;
         Point p = intersect.get(0).point;
+        double t = intersect.get(0).distance;
 
-        // if the intersection point is a vertex we don't include it
-        for (Point vertex : vertices) {
-            if (p.equals(vertex))
-                return null;
-        }
-
-        // check if the intersection point is inside the polygon
-        LinkedList<Vector> V = new LinkedList<Vector>();
-        for (int i = 0; i < size - 1; i++) {
-            V.add(vertices.get(i + 1).subtract(vertices.get(i)));
-        }
-        V.add(vertices.get(0).subtract(vertices.get(size - 1)));
+        if (isInside(p))
+            return List.of(new GeoPoint(this, p, t));
+        return null;
+    }
 
-        // check if the intersection point is on a vertex
-        for (Point vertex : vertices) {
-            if (vertex.equals(p))
-                return null;
-        }
+    @Override
+    protected boolean intersectHelper(Ray ray, GeoPoint hit) {
+        // the polygon is checked only if its plane is intersected closer than the current intersection
+        double t = plane.intersectionDistance(ray);
+        if (t <= 0 || t >= hit.distance || !isInside(ray.getPoint(t)))
+            return false;
+        hit.set(this, t);
+        hit.normal = plane.getNormal();
+        return true;
+    }
 
-        LinkedList<Vector> N = new LinkedList<Vector>();
-        try {
-            for (int i = 0; i < size; i++) {
-                N.add(V.get(i).crossProduct(vertices.get(i).subtract(p)));
-            }
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+    /**
+     * A method to find the distance to the intersection of a ray with the polygon.
+     *
+     * @param ray the ray.
+     * @return the distance, or 0 if the ray doesn't intersect the polygon.
+     */
+    double intersectionDistance(Ray ray) {
+        double t = plane.intersectionDistance(ray);
+        return t > 0 && isInside(ray.getPoint(t)) ? t : 0;
+    }
 
-        boolean check = true;
-        for (int i = 0; i < size; i++) {
-            for (int j = i + 1; j < size; j++)
-                if (!(N.get(i).dotProduct(N.get(j)) > 0)) {
-                    check = false;
-                }
+    /**
+     * A method to check whether a point on the polygon's plane is inside the polygon (excluding its edges).
+     * The point is inside a convex polygon if it is on the same side of all the edges, which is checked in a single
+     * pass: the cross product of every edge with the vector from its start to the point must point to the same side
+     * of the plane as the one of the first edge (and must not be zero).
+     *
+     * @param p the point on the plane.
+     * @return true if the point is inside the polygon, false otherwise.
+     */
+    private boolean isInside(Point p) {
+        double px = p.getX(), py = p.getY(), pz = p.getZ();
+        double firstX = 0, firstY = 0, firstZ = 0;
+        for (int i = 0; i < 3 * size; i += 3) {
+            double ex = edgeCoordinates[i], ey = edgeCoordinates[i + 1], ez = edgeCoordinates[i + 2];
+            double wx = vertexCoordinates[i] - px, wy = vertexCoordinates[i + 1] - py, wz = vertexCoordinates[i + 2] - pz;
+            double nx = alignZero(ey * wz - ez * wy), ny = alignZero(ez * wx - ex * wz), nz = alignZero(ex * wy - ey * wx);
+            // the point is on the edge's line (including the vertices)
+            if (nx == 0 && ny == 0 && nz == 0) return false;
+            if (i == 0) {
+                firstX = nx;
+                firstY = ny;
+                firstZ = nz;
+            } else if (!(alignZero(firstX * nx + firstY * ny + firstZ * nz) > 0))
+                return false;
         }
-
-        if (check)
-            return List.of(new GeoPoint(this, p));
-        return null;
+        return true;
     }
 
     @Override
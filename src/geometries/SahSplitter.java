@@ -0,0 +1,169 @@
+package geometries;
+
+import java.util.Arrays;
+
+/**
+ * This class splits ranges of bounded items by the surface area heuristic (SAH), in order to build
+ * bounding volume hierarchies (of intersectables in {@link Geometries}, and of triangles in {@link Mesh}).
+ * The items are given by their boxes - 6 numbers per item (the minimal x, y, z and the maximal x, y, z),
+ * and they are reordered through a permutation array, so each node of the hierarchy gets a continuous range of it.
+ */
+final class SahSplitter {
+    // the maximal amount of items in a leaf of the hierarchy
+    static final int LEAF_SIZE = 4;
+    // the amount of buckets checked on each axis when looking for the best split
+    private static final int BINS = 12;
+    // the estimated cost of checking a box compared to checking an item
+    private static final double TRAVERSAL_COST = 0.5;
+
+    private SahSplitter() {
+    }
+
+    /**
+     * A method to split a range of items into two ranges, or to decide the range should be a leaf.
+     *
+     * @param boxes the boxes of the items, 6 numbers per item.
+     * @param order the permutation of the items, the range of it is reordered in place.
+     * @param from  the first index of the range (inclusive).
+     * @param to    the last index of the range (exclusive).
+     * @return the index where the second range starts, or -1 if the range should be a leaf.
+     */
+    static int split(double[] boxes, int[] order, int from, int to) {
+        int count = to - from;
+        if (count <= LEAF_SIZE / 2) return -1;
+
+        double[] bounds = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        double[] minCenter = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        double[] maxCenter = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (int i = from; i < to; ++i) {
+            int item = order[i];
+            unite(bounds, 0, boxes, item);
+            for (int axis = 0; axis < 3; ++axis) {
+                double c = center(boxes, item, axis);
+                if (c < minCenter[axis]) minCenter[axis] = c;
+                if (c > maxCenter[axis]) maxCenter[axis] = c;
+            }
+        }
+
+        // find the cheapest split by binning the boxes' centers on every axis
+        double bestCost = Double.POSITIVE_INFINITY;
+        int bestAxis = -1;
+        int bestBin = -1;
+        int[] binCounts = new int[BINS];
+        double[] binBoxes = new double[6 * BINS];
+        double[] rightAreas = new double[BINS];
+        int[] rightCounts = new int[BINS];
+        double[] sweepBox = new double[6];
+        for (int axis = 0; axis < 3; ++axis) {
+            double extent = maxCenter[axis] - minCenter[axis];
+            if (extent <= 0) continue;
+
+            Arrays.fill(binCounts, 0);
+            for (int i = from; i < to; ++i) {
+                int item = order[i];
+                int bin = binIndex(center(boxes, item, axis), minCenter[axis], extent);
+                if (binCounts[bin]++ == 0) System.arraycopy(boxes, 6 * item, binBoxes, 6 * bin, 6);
+                else unite(binBoxes, bin, boxes, item);
+            }
+
+            // sweep from the right to get the area and the amount of the right side of every split
+            int rightCount = 0;
+            for (int bin = BINS - 1; bin > 0; --bin) {
+                if (binCounts[bin] > 0) {
+                    if (rightCount == 0) System.arraycopy(binBoxes, 6 * bin, sweepBox, 0, 6);
+                    else unite(sweepBox, 0, binBoxes, bin);
+                }
+                rightCount += binCounts[bin];
+                rightAreas[bin] = rightCount == 0 ? 0 : surfaceArea(sweepBox, 0);
+                rightCounts[bin] = rightCount;
+            }
+
+            // sweep from the left and evaluate splitting after every bin
+            int leftCount = 0;
+            for (int bin = 0; bin < BINS - 1; ++bin) {
+                if (binCounts[bin] > 0) {
+                    if (leftCount == 0) System.arraycopy(binBoxes, 6 * bin, sweepBox, 0, 6);
+                    else unite(sweepBox, 0, binBoxes, bin);
+                }
+                leftCount += binCounts[bin];
+                if (leftCount == 0 || rightCounts[bin + 1] == 0) continue;
+                double cost = surfaceArea(sweepBox, 0) * leftCount + rightAreas[bin + 1] * rightCounts[bin + 1];
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestAxis = axis;
+                    bestBin = bin;
+                }
+            }
+        }
+
+        // all the centers are in the same point - split the range in the middle
+        if (bestAxis == -1) return from + count / 2;
+
+        double area = surfaceArea(bounds, 0);
+        // if checking the items directly is cheaper than splitting, make a leaf
+        if (count <= LEAF_SIZE && area > 0 && TRAVERSAL_COST + bestCost / area >= count)
+            return -1;
+
+        double extent = maxCenter[bestAxis] - minCenter[bestAxis];
+        int middle = from;
+        for (int i = from; i < to; ++i) {
+            if (binIndex(center(boxes, order[i], bestAxis), minCenter[bestAxis], extent) <= bestBin) {
+                int tmp = order[i];
+                order[i] = order[middle];
+                order[middle] = tmp;
+                ++middle;
+            }
+        }
+        return middle;
+    }
+
+    /**
+     * A method to find the bin of a center coordinate.
+     *
+     * @param center    the coordinate.
+     * @param minCenter the minimal center coordinate in the range.
+     * @param extent    the distance between the minimal and the maximal center coordinates.
+     * @return the bin index.
+     */
+    private static int binIndex(double center, double minCenter, double extent) {
+        int bin = (int) (BINS * (center - minCenter) / extent);
+        return bin >= BINS ? BINS - 1 : bin;
+    }
+
+    /**
+     * A method to find the center of an item's box on an axis.
+     */
+    private static double center(double[] boxes, int item, int axis) {
+        return (boxes[6 * item + axis] + boxes[6 * item + 3 + axis]) / 2;
+    }
+
+    /**
+     * A method to enlarge a box (in place) so it contains another box.
+     *
+     * @param target the array of the enlarged box.
+     * @param index  the index of the enlarged box in its array.
+     * @param boxes  the array of the other box.
+     * @param item   the index of the other box in its array.
+     */
+    static void unite(double[] target, int index, double[] boxes, int item) {
+        for (int axis = 0; axis < 3; ++axis) {
+            target[6 * index + axis] = Math.min(target[6 * index + axis], boxes[6 * item + axis]);
+            target[6 * index + 3 + axis] = Math.max(target[6 * index + 3 + axis], boxes[6 * item + 3 + axis]);
+        }
+    }
+
+    /**
+     * A method to calculate the surface area of a box.
+     *
+     * @param boxes the array of the box.
+     * @param index the index of the box in its array.
+     * @return the box's surface area.
+     */
+    private static double surfaceArea(double[] boxes, int index) {
+        double dx = boxes[6 * index + 3] - boxes[6 * index];
+        double dy = boxes[6 * index + 4] - boxes[6 * index + 1];
+        double dz = boxes[6 * index + 5] - boxes[6 * index + 2];
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+}
@@ -35,50 +35,79 @@ public class Sphere extends RadialGeometry {
         return v.normalize();
     }
 
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        return new BoundingBox(center.getX() - radius, center.getY() - radius, center.getZ() - radius,
+                center.getX() + radius, center.getY() + radius, center.getZ() + radius);
+    }
+
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
         Point p0 = ray.getP0();
         Vector v = ray.getDir();
         // if ray starts at the center then there is only one intersection point
         if (center.equals(p0)) {
-            return List.of(new GeoPoint(this, ray.getPoint(radius)));
+            return alignZero(radius - maxDistance) <= 0 ? List.of(new GeoPoint(this, ray.getPoint(radius), radius)) : null;
         }
 
-        Vector u = center.subtract(p0);
-        double tm = u.dotProduct(v);
-        double d = alignZero(Math.sqrt(u.dotProduct(u) - tm * tm));
-        if (d >= radius) {
+        // the distances are found on coordinates, and the ray's direction is a unit vector, so they are
+        // compared to the maximum distance directly - only the points in range are calculated
+        double ux = center.getX() - p0.getX();
+        double uy = center.getY() - p0.getY();
+        double uz = center.getZ() - p0.getZ();
+        double tm = alignZero(ux * v.getX() + uy * v.getY() + uz * v.getZ());
+        double th = halfChord(ux, uy, uz, tm);
+        if (Double.isNaN(th)) {
             return null;
         }
 
-        double th = alignZero(Math.sqrt(radius * radius - d * d));
         double t1 = alignZero(tm + th);
         double t2 = alignZero(tm - th);
+        boolean first = t1 > 0 && alignZero(t1 - maxDistance) <= 0;
+        boolean second = t2 > 0 && alignZero(t2 - maxDistance) <= 0;
+        if (first && second)
+            return List.of(new GeoPoint(this, ray.getPoint(t1), t1), new GeoPoint(this, ray.getPoint(t2), t2));
+        if (first)
+            return List.of(new GeoPoint(this, ray.getPoint(t1), t1));
+        if (second)
+            return List.of(new GeoPoint(this, ray.getPoint(t2), t2));
+        return null;
+    }
 
-        Point p1 = ray.getPoint(t1);
-        Point p2 = ray.getPoint(t2);
-        if (ray.inRange(p1, maxDistance) && ray.inRange(p2, maxDistance)) {
-            if (t1 > 0 && t2 > 0) {
-                return List.of(new GeoPoint(this, p1), new GeoPoint(this, p2));
-            } else if (t1 > 0) {
-                return List.of(new GeoPoint(this, p1));
-            } else if (t2 > 0) {
-                return List.of(new GeoPoint(this, p2));
-            } else {
-                return null;
-            }
-        } else if (ray.inRange(p1, maxDistance)) {
-            if (t1 > 0)
-                return List.of(new GeoPoint(this, p1));
-            else
-                return null;
-        } else if (ray.inRange(p2, maxDistance)) {
-            if (t2 > 0)
-                return List.of(new GeoPoint(this, p2));
-            else
-                return null;
-        } else return null;
+    @Override
+    protected boolean intersectHelper(Ray ray, GeoPoint hit) {
+        Point p0 = ray.getP0();
+        Vector v = ray.getDir();
+        // the same calculation as finding all the intersections, so both find the same distances
+        double ux = center.getX() - p0.getX();
+        double uy = center.getY() - p0.getY();
+        double uz = center.getZ() - p0.getZ();
+        double tm = alignZero(ux * v.getX() + uy * v.getY() + uz * v.getZ());
+        double th = halfChord(ux, uy, uz, tm);
+        if (Double.isNaN(th)) return false;
 
+        // the closer intersection is the first one in front of the ray's head
+        double t1 = alignZero(tm + th);
+        double t2 = alignZero(tm - th);
+        double t = t2 > 0 ? t2 : t1;
+        if (t <= 0 || t >= hit.distance) return false;
+        hit.set(this, t);
+        return true;
+    }
+
+    /**
+     * A method to calculate half the length of the ray's chord in the sphere, used by both intersection queries
+     * so they align the same values to zero and agree on the intersections.
+     *
+     * @param ux the x coordinate of the vector from the ray's head to the center.
+     * @param uy the y coordinate of the vector from the ray's head to the center.
+     * @param uz the z coordinate of the vector from the ray's head to the center.
+     * @param tm the distance along the ray to the point closest to the center.
+     * @return the half chord, NaN if the ray doesn't cross the sphere.
+     */
+    private double halfChord(double ux, double uy, double uz, double tm) {
+        double d = alignZero(Math.sqrt(Math.max(0, alignZero(ux * ux + uy * uy + uz * uz) - tm * tm)));
+        return d >= radius ? Double.NaN : alignZero(Math.sqrt(radius * radius - d * d));
     }
 
     @Override
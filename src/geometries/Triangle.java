@@ -6,21 +6,129 @@ import primitives.Vector;
 
 import java.util.List;
 
+import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 /**
  * This class will represent a triangle in a 3D world.
+ * The triangle is intersected by the Möller–Trumbore algorithm, with its edges calculated once in construction.
  */
 public class Triangle extends Polygon {
+    // the width of the band around the edges, in barycentric coordinates, where the intersection isn't certain
+    private static final double EDGE_BAND = 1e-10;
+
+    // the first vertex
+    private final double ax, ay, az;
+    // the edge from the first vertex to the second one
+    private final double e1x, e1y, e1z;
+    // the edge from the first vertex to the third one
+    private final double e2x, e2y, e2z;
+
     /**
      * Constructor to initialize a triangle using 3 points.
      */
     public Triangle(Point p1, Point p2, Point p3) {
         super(p1, p2, p3);
+        ax = p1.getX();
+        ay = p1.getY();
+        az = p1.getZ();
+        e1x = p2.getX() - ax;
+        e1y = p2.getY() - ay;
+        e1z = p2.getZ() - az;
+        e2x = p3.getX() - ax;
+        e2y = p3.getY() - ay;
+        e2z = p3.getZ() - az;
+    }
+
+    @Override
+    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        // an intersection at the maximum distance itself is included
+        GeoPoint hit = new GeoPoint().reset(Math.nextUp(maxDistance));
+        if (!intersect(this, this, ax, ay, az, e1x, e1y, e1z, e2x, e2y, e2z, ray, hit))
+            return null;
+        hit.point = ray.getPoint(hit.distance);
+        hit.normal = plane.getNormal();
+        return List.of(hit);
+    }
+
+    @Override
+    protected boolean intersectHelper(Ray ray, GeoPoint hit) {
+        if (!intersect(this, this, ax, ay, az, e1x, e1y, e1z, e2x, e2y, e2z, ray, hit))
+            return false;
+        hit.normal = plane.getNormal();
+        return true;
+    }
+
+    /**
+     * A method to intersect a ray with a triangle by the Möller–Trumbore algorithm, without creating any objects.
+     * The triangle's edges and vertices are excluded. An intersection too close to an edge for the barycentric
+     * coordinates to be trusted is judged by the polygon's inside test, if a polygon is given, so rays that pass
+     * exactly between two adjacent triangles give the same result as before.
+     *
+     * @param geometry the geometry the triangle belongs to.
+     * @param polygon  the polygon judging the intersections near the edges, null to exclude them.
+     * @param ax       the x coordinate of the triangle's first vertex.
+     * @param ay       the y coordinate of the triangle's first vertex.
+     * @param az       the z coordinate of the triangle's first vertex.
+     * @param e1x      the x coordinate of the edge from the first vertex to the second one.
+     * @param e1y      the y coordinate of the edge from the first vertex to the second one.
+     * @param e1z      the z coordinate of the edge from the first vertex to the second one.
+     * @param e2x      the x coordinate of the edge from the first vertex to the third one.
+     * @param e2y      the y coordinate of the edge from the first vertex to the third one.
+     * @param e2z      the z coordinate of the edge from the first vertex to the third one.
+     * @param ray      the ray.
+     * @param hit      the closest intersection so far, set to the triangle's intersection (without its point
+     *                 and normal) if it is closer. The barycentric coordinates u and v are the weights of the
+     *                 second and the third vertices, always inside the triangle (for an intersection judged
+     *                 by the polygon they are clamped to it).
+     * @return true if the triangle is intersected before the current intersection, false otherwise.
+     */
+    static boolean intersect(Geometry geometry, Polygon polygon, double ax, double ay, double az,
+                             double e1x, double e1y, double e1z, double e2x, double e2y, double e2z,
+                             Ray ray, GeoPoint hit) {
+        Vector dir = ray.getDir();
+        double dx = dir.getX(), dy = dir.getY(), dz = dir.getZ();
+        // p = dir x e2
+        double px = dy * e2z - dz * e2y, py = dz * e2x - dx * e2z, pz = dx * e2y - dy * e2x;
+        double det = e1x * px + e1y * py + e1z * pz;
+        // the ray is parallel to the triangle
+        if (isZero(det)) return false;
+        double invDet = 1 / det;
+
+        Point p0 = ray.getP0();
+        double sx = p0.getX() - ax, sy = p0.getY() - ay, sz = p0.getZ() - az;
+        double u = (sx * px + sy * py + sz * pz) * invDet;
+        if (u < -EDGE_BAND || u > 1 + EDGE_BAND) return false;
+
+        // q = s x e1
+        double qx = sy * e1z - sz * e1y, qy = sz * e1x - sx * e1z, qz = sx * e1y - sy * e1x;
+        double v = (dx * qx + dy * qy + dz * qz) * invDet;
+        if (v < -EDGE_BAND || u + v > 1 + EDGE_BAND) return false;
+
+        double t;
+        if (u > EDGE_BAND && v > EDGE_BAND && 1 - u - v > EDGE_BAND)
+            t = alignZero((e2x * qx + e2y * qy + e2z * qz) * invDet);
+        else if (polygon != null) {
+            t = polygon.intersectionDistance(ray);
+            // the polygon judged the point inside, so its barycentric coordinates are moved into the triangle
+            u = Math.max(0, u);
+            v = Math.max(0, v);
+            if (u + v > 1) {
+                double sum = u + v;
+                u /= sum;
+                v /= sum;
+            }
+        } else
+            return false;
+        if (t <= 0 || t >= hit.distance) return false;
+        hit.set(geometry, t);
+        hit.u = u;
+        hit.v = v;
+        return true;
     }
 
     @Override
     public boolean equals(Object obj) {
         return super.equals(obj);
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,8 @@ import primitives.Vector;
 
 import java.util.List;
 
+import static primitives.Util.alignZero;
+
 /**
  * This class will represent a tube in a 3D world.
  */
@@ -40,11 +42,70 @@ public class Tube extends RadialGeometry {
         return n.normalize();
     }
 
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        // the tube stretches to infinity
+        return BoundingBox.INFINITE;
+    }
+
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        double[] distances = sideDistances(ray);
+        if (distances == null) return null;
+        boolean first = distances[0] > 0 && alignZero(distances[0] - maxDistance) <= 0;
+        boolean second = distances[1] > 0 && alignZero(distances[1] - maxDistance) <= 0;
+        if (first && second)
+            return List.of(new GeoPoint(this, ray.getPoint(distances[0]), distances[0]),
+                    new GeoPoint(this, ray.getPoint(distances[1]), distances[1]));
+        if (first)
+            return List.of(new GeoPoint(this, ray.getPoint(distances[0]), distances[0]));
+        if (second)
+            return List.of(new GeoPoint(this, ray.getPoint(distances[1]), distances[1]));
         return null;
     }
 
+    @Override
+    protected boolean intersectHelper(Ray ray, GeoPoint hit) {
+        double[] distances = sideDistances(ray);
+        if (distances == null) return false;
+        // the closer intersection is the first one in front of the ray's head
+        double t = distances[0] > 0 ? distances[0] : distances[1];
+        if (t <= 0 || t >= hit.distance) return false;
+        hit.set(this, t);
+        return true;
+    }
+
+    /**
+     * A method to calculate the distances along a ray to the tube's surface, on coordinates instead of new vectors.
+     * The ray's point in distance t is on the surface if its distance from the axis is the radius, i.e. if
+     * |(w + t*d) - ((w + t*d)*v)v|^2 = r^2, where w is the vector from the axis' head to the ray's head,
+     * d is the ray's direction and v is the axis' direction - a quadratic equation in t.
+     *
+     * @param ray the ray.
+     * @return the two distances (the smaller first, both may be behind the ray's head), or null if the ray doesn't
+     * cross the surface (including a ray parallel to the axis or tangent to the surface).
+     */
+    double[] sideDistances(Ray ray) {
+        Vector v = axisRay.getDir();
+        Vector d = ray.getDir();
+        Point head = axisRay.getP0();
+        Point p0 = ray.getP0();
+        double wx = p0.getX() - head.getX(), wy = p0.getY() - head.getY(), wz = p0.getZ() - head.getZ();
+        double dv = d.getX() * v.getX() + d.getY() * v.getY() + d.getZ() * v.getZ();
+        double wv = wx * v.getX() + wy * v.getY() + wz * v.getZ();
+
+        // the coefficients of the equation (the ray's direction is a unit vector)
+        double a = alignZero(1 - dv * dv);
+        if (a <= 0) return null;
+        double b = 2 * (d.getX() * wx + d.getY() * wy + d.getZ() * wz - dv * wv);
+        double c = wx * wx + wy * wy + wz * wz - wv * wv - radius * radius;
+
+        double discriminant = alignZero(b * b - 4 * a * c);
+        if (discriminant <= 0) return null;
+        double root = Math.sqrt(discriminant);
+        return new double[]{alignZero((-b - root) / (2 * a)), alignZero((-b + root) / (2 * a))};
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -23,4 +23,18 @@ public interface LightSource {
     public Vector getL(Point p);
 
     double getDistance(Point point);
+
+    /**
+     * A method to check whether the light may illuminate a point with a given part of its intensity,
+     * before any shadowing. The check is cheaper than calculating the intensity, and may allow points the light
+     * doesn't reach, but never rejects a point it does.
+     *
+     * @param p         the point.
+     * @param minFactor the lowest part of the light's intensity considered.
+     * @return false if the part of the light's intensity left at the point is surely lower than minFactor,
+     * true otherwise.
+     **/
+    default boolean reaches(Point p, double minFactor) {
+        return true;
+    }
 }
@@ -3,13 +3,14 @@ package lighting;
 import primitives.Color;
 import primitives.Point;
 import primitives.Vector;
+import primitives.VectorMath;
 
 /**
  * This class will represent a point light source.
  */
 public class PointLight extends Light implements LightSource {
     // the light source position
-    private Point position;
+    protected final Point position;
     // the attenuation coefficients
     private double kC = 1, kL = 0, kQ = 0;
 
@@ -59,17 +60,48 @@ public class PointLight extends Light implements LightSource {
 
     @Override
     public Color getIntensity(Point p) {
-        double d = position.distance(p);
-        return getIntensity().scale(1 / (kC + kL * d + kQ * d * d));
+        return getIntensity().scale(attenuation(position.distance(p)));
+    }
+
+    /**
+     * A method to get the part of the light's intensity left by the attenuation at a distance from it.
+     *
+     * @param d the distance from the light.
+     * @return 1 / (kC + kL*d + kQ*d^2).
+     */
+    protected double attenuation(double d) {
+        return 1 / (kC + kL * d + kQ * d * d);
     }
 
     @Override
     public Vector getL(Point p) {
-        return (p.subtract(position)).normalize();
+        double[] l = VectorMath.normalize(VectorMath.subtract(new double[3], p, position));
+        return new Vector(l[0], l[1], l[2]);
     }
 
     @Override
     public double getDistance(Point point) {
         return position.distance(point);
     }
-}
\ No newline at end of file
+
+    /**
+     * A method to get the light's effective radius - the distance from the light beyond which
+     * the part of its intensity left by the attenuation is lower than a given factor.
+     *
+     * @param minFactor the lowest part of the intensity considered.
+     * @return the radius, infinity if the intensity isn't attenuated below minFactor at any distance.
+     */
+    public double getRadius(double minFactor) {
+        // the intensity is attenuated by 1 / (kC + kL*d + kQ*d^2), so the radius solves kC + kL*d + kQ*d^2 = 1 / minFactor
+        double c = kC - 1 / minFactor;
+        if (c >= 0) return 0;
+        if (kQ > 0) return (-kL + Math.sqrt(kL * kL - 4 * kQ * c)) / (2 * kQ);
+        return kL > 0 ? -c / kL : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public boolean reaches(Point p, double minFactor) {
+        double radius = getRadius(minFactor);
+        return radius == Double.POSITIVE_INFINITY || position.distanceSquared(p) <= radius * radius;
+    }
+}
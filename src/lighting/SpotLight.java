@@ -3,6 +3,7 @@ package lighting;
 import primitives.Color;
 import primitives.Point;
 import primitives.Vector;
+import primitives.VectorMath;
 
 import static java.lang.Math.max;
 
@@ -36,4 +37,15 @@ public class SpotLight extends PointLight {
         narrowBeamFactor = narrow;
         return this;
     }
+
+    @Override
+    public boolean reaches(Point p, double minFactor) {
+        // the light doesn't illuminate the points behind it at all
+        double dx = p.getX() - position.getX(), dy = p.getY() - position.getY(), dz = p.getZ() - position.getZ();
+        double projection = VectorMath.dot(dx, dy, dz, direction.getX(), direction.getY(), direction.getZ());
+        if (projection <= 0) return false;
+        // in front of it, the intensity is scaled by the cone's falloff (cos^narrowBeamFactor) and by the attenuation
+        double d = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        return Math.pow(projection / d, narrowBeamFactor) * attenuation(d) >= minFactor;
+    }
 }
@@ -52,6 +52,30 @@ public class Color {
       int ib = (int) rgb.d3;
       return new java.awt.Color(ir > 255 ? 255 : ir, ig > 255 ? 255 : ig, ib > 255 ? 255 : ib);
    }
+
+   /** Color getter - returns the color packed into an int like
+    * {@link java.awt.Color#getRGB()} of {@link #getColor()}, without creating the
+    * java.awt.Color object. Any component bigger than 255 is set to 255
+    * @return the packed RGB components (with an opaque alpha) */
+   public int getRGB() {
+      int ir = (int) rgb.d1;
+      int ig = (int) rgb.d2;
+      int ib = (int) rgb.d3;
+      return 0xFF000000 | (ir > 255 ? 255 : ir) << 16 | (ig > 255 ? 255 : ig) << 8 | (ib > 255 ? 255 : ib);
+   }
+
+   /** Red component getter (without upper limit)
+    * @return the red component */
+   public double getRed() { return rgb.d1; }
+
+   /** Green component getter (without upper limit)
+    * @return the green component */
+   public double getGreen() { return rgb.d2; }
+
+   /** Blue component getter (without upper limit)
+    * @return the blue component */
+   public double getBlue() { return rgb.d3; }
+
    public  boolean isAlmostEquals(primitives.Color color) {
 
       return  (Math.abs(this.rgb.d1-color.rgb.d1)<= 1) &&
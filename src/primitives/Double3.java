@@ -96,6 +96,12 @@ public class Double3 {
       return new Double3(d1 * rhs.d1, d2 * rhs.d2, d3 * rhs.d3);
    }
 
+   /** Finds the greatest of the numbers
+    * @return the greatest number */
+   public double max() {
+      return Math.max(d1, Math.max(d2, d3));
+   }
+
    /** Checks whether all the numbers are lower than a test number
     * @param  k the test number
     * @return   true if all the numbers are less than k, false otherwise */
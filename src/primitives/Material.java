@@ -107,6 +107,49 @@ public class Material {
         return this;
     }
 
+    /**
+     * A method to check whether the material reflects any light (kR isn't zero), so the ray tracer knows
+     * whether a reflected ray can affect a color without computing it. It is checked on every call,
+     * since kR may also be assigned directly.
+     *
+     * @return true if the material is reflective.
+     */
+    public boolean isReflective() {
+        return !kR.equals(Double3.ZERO);
+    }
+
+    /**
+     * A method to check whether the material transmits any light (kT isn't zero), so the ray tracer knows
+     * whether a refracted ray can affect a color without computing it. It is checked on every call,
+     * since kT may also be assigned directly.
+     *
+     * @return true if the material is transparent.
+     */
+    public boolean isTransparent() {
+        return !kT.equals(Double3.ZERO);
+    }
+
+    /**
+     * A method to get the greatest factor the local effects of the material scale a light's intensity by.
+     * The diffusive and specular parts are at most kD and kS, so a light is scaled by at most their sum -
+     * the ray tracer skips the lights too attenuated by it to affect a color.
+     *
+     * @return the greatest component of kD + kS.
+     */
+    public double getMaxLocalFactor() {
+        return Math.max(kD.d1 + kS.d1, Math.max(kD.d2 + kS.d2, kD.d3 + kS.d3));
+    }
+
+    /**
+     * A method to check whether the material neither reflects nor transmits light,
+     * so only its local (diffusive and specular) effects are seen.
+     *
+     * @return true if the material is opaque and non-reflective.
+     */
+    public boolean isDiffuseOnly() {
+        return !isReflective() && !isTransparent();
+    }
+
     public Object setkD(Double3 double3) {
         return null;
     }
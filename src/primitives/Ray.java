@@ -15,6 +15,8 @@ import geometries.Intersectable.GeoPoint;
 public class Ray {
     final private Point p0;
     final private Vector dir;
+    // the inverse of the direction's coordinates, used to intersect the ray with bounding boxes
+    final private double invDirX, invDirY, invDirZ;
 
     private static final double DELTA = 0.1;
 
@@ -27,15 +29,52 @@ public class Ray {
     public Ray(Point p, Vector v) {
         p0 = p;
         dir = v.normalize();
+        invDirX = inverse(dir.getX());
+        invDirY = inverse(dir.getY());
+        invDirZ = inverse(dir.getZ());
+    }
+
+    /**
+     * Constructor to initialize Ray object with its head point and a point it passes through,
+     * without creating the vector between them
+     *
+     * @param head   head of the ray
+     * @param target a point on the ray, which must differ from its head
+     */
+    public Ray(Point head, Point target) {
+        p0 = head;
+        double[] v = VectorMath.normalize(VectorMath.subtract(new double[3], target, head));
+        dir = new Vector(v[0], v[1], v[2]);
+        invDirX = inverse(dir.getX());
+        invDirY = inverse(dir.getY());
+        invDirZ = inverse(dir.getZ());
     }
 
     public Ray(Point head, Vector direction, Vector normal) {
         double vn = direction.dotProduct(normal);
         if (isZero(vn))
             p0 = head;
-        else
-            p0 = head.add(normal.scale(vn > 0 ? DELTA : -DELTA));
+        else {
+            double[] moved = VectorMath.combine(new double[3], head, normal, vn > 0 ? DELTA : -DELTA);
+            p0 = new Point(moved[0], moved[1], moved[2]);
+        }
         dir = direction.normalize();
+        invDirX = inverse(dir.getX());
+        invDirY = inverse(dir.getY());
+        invDirZ = inverse(dir.getZ());
+    }
+
+    /**
+     * A method to calculate the inverse of a direction coordinate.
+     * A zero coordinate is inverted to the largest finite number (with the same sign) instead of infinity,
+     * so multiplying it by zero later won't produce NaN.
+     *
+     * @param d the coordinate.
+     * @return 1/d, bounded to a finite number.
+     */
+    private static double inverse(double d) {
+        double inv = 1 / d;
+        return Double.isInfinite(inv) ? Math.copySign(Double.MAX_VALUE, inv) : inv;
     }
 
     public Point getP0() {
@@ -46,6 +85,18 @@ public class Ray {
         return dir;
     }
 
+    public double getInverseDirX() {
+        return invDirX;
+    }
+
+    public double getInverseDirY() {
+        return invDirY;
+    }
+
+    public double getInverseDirZ() {
+        return invDirZ;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -0,0 +1,103 @@
+package primitives;
+
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
+
+/**
+ * VectorMath is a kernel of vector operations on plain coordinates, for the hot paths of the ray tracer.<br/>
+ * The operations of {@link Point} and {@link Vector} create a new object for every intermediate result,
+ * so these methods work on doubles and on arrays of 3 coordinates given by the caller instead.
+ * Every method gives the same result (to the last bit) as the matching chain of immutable operations,
+ * so switching a calculation to the kernel doesn't change the rendered images.
+ */
+public abstract class VectorMath {
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private VectorMath() {
+    }
+
+    /**
+     * Dot product of two vectors given by their coordinates, like {@link Vector#dotProduct(Vector)}
+     *
+     * @return the dot product (aligned to zero)
+     */
+    public static double dot(double ax, double ay, double az, double bx, double by, double bz) {
+        return alignZero(ax * bx + ay * by + az * bz);
+    }
+
+    /**
+     * The length of a vector given by its coordinates, like {@link Vector#length()}
+     *
+     * @return the vector's length
+     */
+    public static double length(double x, double y, double z) {
+        return Math.sqrt(dot(x, y, z, x, y, z));
+    }
+
+    /**
+     * Calculate a point moved along a vector, like {@code p.add(a.scale(sa))}
+     *
+     * @param result the array the coordinates of the point are written into
+     * @param p      the starting point
+     * @param a      the vector
+     * @param sa     the scale of the vector
+     * @return the result array
+     */
+    public static double[] combine(double[] result, Point p, Vector a, double sa) {
+        result[0] = p.xyz.d1 + a.xyz.d1 * sa;
+        result[1] = p.xyz.d2 + a.xyz.d2 * sa;
+        result[2] = p.xyz.d3 + a.xyz.d3 * sa;
+        return result;
+    }
+
+    /**
+     * Calculate a point moved along two vectors, like {@code p.add(a.scale(sa)).add(b.scale(sb))}
+     *
+     * @param result the array the coordinates of the point are written into
+     * @param p      the starting point
+     * @param a      the first vector
+     * @param sa     the scale of the first vector
+     * @param b      the second vector
+     * @param sb     the scale of the second vector
+     * @return the result array
+     */
+    public static double[] combine(double[] result, Point p, Vector a, double sa, Vector b, double sb) {
+        result[0] = p.xyz.d1 + a.xyz.d1 * sa + b.xyz.d1 * sb;
+        result[1] = p.xyz.d2 + a.xyz.d2 * sa + b.xyz.d2 * sb;
+        result[2] = p.xyz.d3 + a.xyz.d3 * sa + b.xyz.d3 * sb;
+        return result;
+    }
+
+    /**
+     * Calculate the vector between two points, like {@code to.subtract(from)}
+     *
+     * @param result the array the coordinates of the vector are written into
+     * @param to     the vector's end
+     * @param from   the vector's start
+     * @return the result array
+     * @throws IllegalArgumentException if the points are the same, as a zero vector
+     */
+    public static double[] subtract(double[] result, Point to, Point from) {
+        result[0] = to.xyz.d1 - from.xyz.d1;
+        result[1] = to.xyz.d2 - from.xyz.d2;
+        result[2] = to.xyz.d3 - from.xyz.d3;
+        if (isZero(result[0]) && isZero(result[1]) && isZero(result[2]))
+            throw new IllegalArgumentException("zero vector");
+        return result;
+    }
+
+    /**
+     * Normalize a vector in place, like {@link Vector#normalize()}
+     *
+     * @param v the coordinates of the vector, replaced by the unit vector's ones
+     * @return the array
+     */
+    public static double[] normalize(double[] v) {
+        double scale = 1 / length(v[0], v[1], v[2]);
+        v[0] *= scale;
+        v[1] *= scale;
+        v[2] *= scale;
+        return v;
+    }
+}
@@ -5,19 +5,30 @@ import primitives.Color;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
+import primitives.VectorMath;
 
 import java.util.LinkedList;
 import java.util.List;
 import java.util.MissingResourceException;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.Math.*;
 import static primitives.Util.isZero;
 
 /**
  * This class will represent the camera, the tool we will use to construct rays in order
- * to find intersection points with 3d objects
+ * to find intersection points with 3d objects.
+ * A multi-threaded camera keeps its thread pool between renders, so it should be closed when it is no longer used.
  */
-public class Camera {
+public class Camera implements AutoCloseable {
     // camera's location
     private Point p0;
     // direction vectors of the camera
@@ -49,11 +60,42 @@ public class Camera {
     double pixelLength;
 
     // Multi Threads
-    int threadsCount = 4;
+    int threadsCount = Runtime.getRuntime().availableProcessors();
+    // the pool rendering the tiles, reused by all the renders of the camera
+    private ForkJoinPool renderPool;
+    // whether the pool was created by the camera (an injected pool is shut down by its owner)
+    private boolean ownsRenderPool;
+    // an executor running a task per tile instead of the render pool (e.g. of virtual threads)
+    private ExecutorService tileExecutor;
+    // the listener notified of every rendered tile
+    private TileListener tileListener;
+    // the checkpoint the rendered tiles are saved to, and whose finished tiles aren't rendered again
+    private RenderCheckpoint checkpoint;
+    // the length of a tile's side in pixels, a tile is the unit of work of a thread
+    private int tileSize = 16;
 
     // Adaptive Super Sampling
     boolean adaptiveSuperSampling = false;
-    private PixelManager pixelManager;
+    // the maximal depth of the adaptive super sampling recursion, so the cache of a pixel's samples holds
+    // at most 257 x 257 colors - it limits only more than 257 rays in a line (see setNumOfRaysInLine)
+    private static final int MAX_ADAPTIVE_DEPTH = 8;
+
+    // Variance Sampling
+    boolean varianceSampling = false;
+    // the maximal half width of the 95% confidence interval of a pixel's color components
+    private double varianceThreshold;
+    // the maximal amount of samples of a pixel
+    private int maxSamples;
+    // the amount of samples traced for every pixel in the last render, by [row][column]
+    private int[][] sampleCounts;
+    // the minimal amount of samples before the variance of a pixel is trusted
+    private static final int MIN_VARIANCE_SAMPLES = 4;
+    // the z value of a 95% confidence interval
+    private static final double CONFIDENCE_Z = 1.96;
+    // the steps of the samples' sequence on both axes (R2 sequence, based on the plastic number)
+    private static final double SEQUENCE_STEP_X = 1 / 1.32471795724474602596;
+    private static final double SEQUENCE_STEP_Y = SEQUENCE_STEP_X * SEQUENCE_STEP_X;
+    private TileManager tileManager;
     double printInterval = 0.1;
 
     // Setters
@@ -95,6 +137,13 @@ public class Camera {
         return this;
     }
 
+    /**
+     * Setter to initialize/set the amount of rays in a line of the grid sampling a pixel or the aperture.
+     * The adaptive super sampling divides a square at most 8 times (into a grid of 256 squares on each side),
+     * so with it more than 257 rays in a line don't refine the sampling any further.
+     *
+     * @param numOfRaysInLine the amount of rays in a line.
+     **/
     public Camera setNumOfRaysInLine(int numOfRaysInLine) {
         this.numOfRaysInLine = numOfRaysInLine;
         return this;
@@ -123,11 +172,86 @@ public class Camera {
         return this;
     }
 
+    /**
+     * Setter to initialize/set the amount of threads rendering the image.
+     * The camera creates its own pool of threads on the next render, and keeps it for the following renders.
+     *
+     * @param numOfThreads the amount of threads, 0 for rendering in the calling thread.
+     **/
     public Camera setMultiThreading(int numOfThreads) {
+        if (numOfThreads < 0)
+            throw new IllegalArgumentException("amount of threads can't be negative");
+        if (numOfThreads != threadsCount || !ownsRenderPool)
+            shutdownRenderPool();
         threadsCount = numOfThreads;
         return this;
     }
 
+    /**
+     * Setter to render every tile in a separate task of an executor, instead of the render pool.
+     * Only the amount of threads set by {@link #setMultiThreading(int)} trace rays at the same time,
+     * while the tile listener of the other tasks may wait for I/O. The executor is meant to have
+     * many cheap threads (virtual threads, or a cached pool), and it isn't shut down by the camera.
+     *
+     * @param executor the executor, null to return to the render pool.
+     **/
+    public Camera setTileExecutor(ExecutorService executor) {
+        tileExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Setter to initialize/set a listener that is notified whenever a tile of the image was rendered.
+     *
+     * @param tileListener the listener, null for no listener.
+     **/
+    public Camera setTileListener(TileListener tileListener) {
+        this.tileListener = tileListener;
+        return this;
+    }
+
+    /**
+     * Setter to initialize/set a checkpoint of the render - every rendered tile is saved to it, and the tiles
+     * it already has (e.g. from a render which was stopped) are skipped, since it wrote their pixels
+     * to the image writer when it was opened. The checkpoint's tile size must be the camera's one,
+     * its image size must be the image writer's one, and the image writer can't keep an HDR framebuffer,
+     * since it isn't checkpointed - these are checked when the render starts.
+     *
+     * @param checkpoint the checkpoint, null for no checkpoint.
+     **/
+    public Camera setCheckpoint(RenderCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+        return this;
+    }
+
+    /**
+     * Setter to inject a pool of threads that will render the image, instead of a pool created by the camera.
+     * The pool may be shared between cameras, and it isn't shut down when the camera is closed.
+     *
+     * @param pool the pool of threads.
+     **/
+    public Camera setRenderPool(ForkJoinPool pool) {
+        if (pool == null)
+            throw new IllegalArgumentException("render pool can't be null");
+        shutdownRenderPool();
+        renderPool = pool;
+        ownsRenderPool = false;
+        threadsCount = pool.getParallelism();
+        return this;
+    }
+
+    /**
+     * Setter to initialize/set the size of the tiles the image is divided into when rendering.
+     *
+     * @param tileSize the length of a tile's side in pixels.
+     **/
+    public Camera setTileSize(int tileSize) {
+        if (tileSize < 1)
+            throw new IllegalArgumentException("tile size must be positive");
+        this.tileSize = tileSize;
+        return this;
+    }
+
     public Camera setDebugPrint(double printInterval) {
         this.printInterval = printInterval;
         return this;
@@ -185,7 +309,7 @@ public class Camera {
      **/
     public Ray constructRay(int nX, int nY, int j, int i) {
         Point pIJ = constructPixelPoint(nX, nY, j, i);
-        return new Ray(p0, pIJ.subtract(p0));
+        return new Ray(p0, pIJ);
     }
 
     /**
@@ -201,11 +325,8 @@ public class Camera {
         double yI = -(i - ((nY - 1) / 2.0)) * Ry;
         double xJ = (j - ((nX - 1) / 2.0)) * Rx;
 
-        Point pIJ = pCenter;
-        if (xJ != 0) pIJ = pIJ.add(vRight.scale(xJ));
-        if (yI != 0) pIJ = pIJ.add(vUp.scale(yI));
-
-        return pIJ;
+        double[] pIJ = VectorMath.combine(new double[3], pCenter, vRight, xJ, vUp, yI);
+        return new Point(pIJ[0], pIJ[1], pIJ[2]);
     }
 
 
@@ -215,36 +336,156 @@ public class Camera {
     public Camera renderImage() {
         if (p0 == null || vUp == null || vTo == null || vRight == null || height == 0 || width == 0 || imageWriter == null || rayTracer == null)
             throw new MissingResourceException("A resource is missing", "", "");
+        if (checkpoint != null) {
+            if (checkpoint.getTileSize() != tileSize)
+                throw new IllegalStateException("the checkpoint's tile size isn't the camera's one");
+            if (checkpoint.getNx() != imageWriter.getNx() || checkpoint.getNy() != imageWriter.getNy())
+                throw new IllegalStateException("the checkpoint's image size isn't the image writer's one");
+            if (imageWriter.isHdr())
+                throw new IllegalStateException("the HDR framebuffer can't be checkpointed");
+        }
 
         int nX = imageWriter.getNx();
         int nY = imageWriter.getNy();
-        pixelManager = new PixelManager(nY, nX, printInterval);
+        tileManager = new TileManager(nY, nX, tileSize, printInterval);
+        sampleCounts = varianceSampling ? new int[nY][nX] : null;
         if (threadsCount == 0) {
-            for (int j = 0; j < nX; ++j)
-                for (int i = 0; i < nY; ++i) {
-                    imageWriter.writePixel(j, i, castRay(j, i));
-                }
+            for (int t = 0; t < tileManager.tilesCount(); ++t)
+                calcTile(tileManager.getTile(t));
+        } else if (tileExecutor != null) {
+            renderTileTasks();
         } else {
-            var threads = new LinkedList<Thread>(); // list of threads
-            while (threadsCount-- > 0) // add appropriate number of threads
-                threads.add(new Thread(() -> { // add a thread with its code
-                    PixelManager.Pixel pixel; // current pixel(row,col)
-                    // allocate pixel(row,col) in loop until there are no more pixels
-                    while ((pixel = pixelManager.nextPixel()) != null)
-                        // cast ray through pixel (and color it – inside castRay)
-                        calcPixel(pixel.col(), pixel.row());
-                }));
-            // start all the threads
-            for (var thread : threads) thread.start();
-            // wait until all the threads have finished
-            try {
-                for (var thread : threads) thread.join();
-            } catch (InterruptedException ignore) {
-            }
+            getRenderPool().invoke(new TileRangeAction(0, tileManager.tilesCount()));
         }
         return this;
     }
 
+    /**
+     * A method to render the image by submitting a task per tile to the tile executor.
+     * A fair semaphore limits the tasks tracing rays to the amount of threads, and the tile
+     * listener is called after the permit is released, so its I/O overlaps the tracing of other tiles.
+     * If the render fails, the remaining tasks are cancelled - without interrupting the running ones if there is
+     * a checkpoint, since an interrupt during its file I/O closes the file, and then the running tiles are
+     * awaited, so the checkpoint can be closed safely.
+     **/
+    private void renderTileTasks() {
+        Semaphore computePermits = new Semaphore(threadsCount, true);
+        // the running tasks, and the rendering thread as long as it awaits them
+        Phaser running = new Phaser(1);
+        var tasks = new ArrayList<Future<?>>(tileManager.tilesCount());
+        for (int t = 0; t < tileManager.tilesCount(); ++t) {
+            TileManager.Tile tile = tileManager.getTile(t);
+            tasks.add(tileExecutor.submit(() -> {
+                // a task started after the render failed isn't run
+                if (running.register() < 0) return;
+                try {
+                    computePermits.acquireUninterruptibly();
+                    try {
+                        renderTile(tile);
+                    } finally {
+                        computePermits.release();
+                    }
+                    notifyTile(tile);
+                } finally {
+                    running.arriveAndDeregister();
+                }
+            }));
+        }
+        try {
+            for (var task : tasks) task.get();
+        } catch (InterruptedException e) {
+            cancelTileTasks(tasks, running);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("rendering was interrupted", e);
+        } catch (ExecutionException e) {
+            cancelTileTasks(tasks, running);
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("tile rendering failed", e.getCause());
+        }
+    }
+
+    /**
+     * A method to cancel the tasks of a failed render. With a checkpoint, the running tasks aren't interrupted,
+     * and are awaited.
+     *
+     * @param tasks   the tasks.
+     * @param running the phaser of the running tasks and the rendering thread.
+     **/
+    private void cancelTileTasks(List<Future<?>> tasks, Phaser running) {
+        for (var task : tasks) task.cancel(checkpoint == null);
+        int phase = running.arriveAndDeregister();
+        if (checkpoint != null) running.awaitAdvance(phase);
+    }
+
+    /**
+     * Getter to receive the pool of threads rendering the image, the pool is created on the first call.
+     **/
+    ForkJoinPool getRenderPool() {
+        if (renderPool == null) {
+            renderPool = new ForkJoinPool(threadsCount);
+            ownsRenderPool = true;
+        }
+        return renderPool;
+    }
+
+    /**
+     * A method to shut down the pool of threads if it was created by the camera, and to detach the camera from it.
+     **/
+    private void shutdownRenderPool() {
+        if (renderPool != null && ownsRenderPool) renderPool.shutdown();
+        renderPool = null;
+        ownsRenderPool = false;
+    }
+
+    /**
+     * A method to release the threads of the camera. Waits for a running render to finish.
+     * The camera can still render after it was closed, a new pool is created for it.
+     **/
+    @Override
+    public void close() {
+        ForkJoinPool pool = ownsRenderPool ? renderPool : null;
+        shutdownRenderPool();
+        if (pool == null) return;
+        try {
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A task of rendering a continuous range of tiles (in the tile manager's order).
+     * The range is split in halves until a single tile is left, so idle threads steal
+     * the largest pending ranges, which are also continuous areas of the image.
+     */
+    private class TileRangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructor to initialize the task with a range of tiles.
+         *
+         * @param from the first tile index (inclusive).
+         * @param to   the last tile index (exclusive).
+         **/
+        TileRangeAction(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int t = from; t < to; ++t)
+                    calcTile(tileManager.getTile(t));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TileRangeAction(from, middle), new TileRangeAction(middle, to));
+        }
+    }
+
     /**
      * A method to create the background grid to the picture.
      *
@@ -278,23 +519,44 @@ public class Camera {
     /**
      * A method to generate a color for each pixel. if the depth of field feature is used,
      * will also create the ray-beam to the focal point and calculate the average color to determinate the pixel color.
+     *
+     * @param cache the cache of the adaptive super sampling's samples (null if it isn't enabled).
      **/
 
-    private Color castRay(int xIndex, int yIndex) {
+    private Color castRay(int xIndex, int yIndex, SampleCache cache) {
         Ray headRay = constructRay(imageWriter.getNx(), imageWriter.getNy(), xIndex, yIndex);
         Color pixelColor = new Color(java.awt.Color.BLACK);
         Point pixelPoint = constructPixelPoint(imageWriter.getNx(), imageWriter.getNy(), xIndex, yIndex);
 
-        if (adaptiveSuperSampling) {
+        if (varianceSampling) {
+            // Add depth of field
+            if (!isZero(apertureSize)) {
+                Point focalPoint = focalPlane.findIntersections(headRay).get(0);
+                pixelColor = calcVarianceSampling(focalPoint, pixelPoint, apertureSize, apertureSize, xIndex, yIndex);
+            }
+
+            // Add antialiasing
+            if (antialiasing) {
+                pixelColor = pixelColor.add(calcVarianceSampling(pixelPoint, p0, pixelWidth, pixelLength, xIndex, yIndex));
+            }
+
+            if (!isZero(apertureSize) && antialiasing)
+                pixelColor = pixelColor.reduce(2);
+            else if (isZero(apertureSize) && !antialiasing) {
+                pixelColor = rayTracer.traceRay(headRay);
+                sampleCounts[yIndex][xIndex] = 1;
+            }
+
+        } else if (adaptiveSuperSampling) {
             // Add depth of field
             if (!isZero(apertureSize)) {
                 Point focalPoint = focalPlane.findIntersections(headRay).get(0);
-                pixelColor = calcAdaptiveSuperSampling(focalPoint, pixelPoint, apertureSize, apertureSize);
+                pixelColor = calcAdaptiveSuperSampling(focalPoint, pixelPoint, apertureSize, apertureSize, cache);
             }
 
             // Add antialiasing
             if (antialiasing) {
-                pixelColor = pixelColor.add(calcAdaptiveSuperSampling(pixelPoint, p0, pixelWidth, pixelLength));
+                pixelColor = pixelColor.add(calcAdaptiveSuperSampling(pixelPoint, p0, pixelWidth, pixelLength, cache));
             }
 
             if (!isZero(apertureSize) && antialiasing)
@@ -333,65 +595,192 @@ public class Camera {
     }
 
     /**
-     * Cast ray from camera and color a pixel
+     * Cast rays from camera, color all the pixels of a tile and notify the tile listener
      *
-     * @param col pixel's column number (pixel index in row)
-     * @param row pixel's row number (pixel index in column)
+     * @param tile the tile
      */
-    private void calcPixel(int col, int row) {
-        imageWriter.writePixel(col, row, castRay(col, row));
-        pixelManager.pixelDone();
+    private void calcTile(TileManager.Tile tile) {
+        renderTile(tile);
+        notifyTile(tile);
     }
 
-    Color calcAdaptiveSuperSampling(Point targetPoint, Point headPoint, double sizeX, double sizeY) {
-        Point leftUp = headPoint.add(vUp.scale(sizeY / 2)).add(vRight.scale(-sizeX / 2));
-        Point leftDown = headPoint.add(vUp.scale(-sizeY / 2)).add(vRight.scale(-sizeX / 2));
-        Point rightUp = headPoint.add(vUp.scale(sizeY / 2)).add(vRight.scale(sizeX / 2));
-        Point rightDown = headPoint.add(vUp.scale(-sizeY / 2)).add(vRight.scale(sizeX / 2));
-
-        Color leftUpColor = rayTracer.traceRay(new Ray(leftUp, targetPoint.subtract(leftUp)));
-        Color leftDownColor = rayTracer.traceRay(new Ray(leftDown, targetPoint.subtract(leftDown)));
-        Color rightUpColor = rayTracer.traceRay(new Ray(rightUp, targetPoint.subtract(rightUp)));
-        Color rightDownColor = rayTracer.traceRay(new Ray(rightDown, targetPoint.subtract(rightDown)));
+    /**
+     * Cast rays from camera and color all the pixels of a tile.
+     * The colors are collected in the tile's order and written to the image writer at once,
+     * with their unclamped radiance if the image writer keeps it.
+     * A tile which is finished in the checkpoint is already in the image writer, and isn't rendered again.
+     *
+     * @param tile the tile
+     */
+    private void renderTile(TileManager.Tile tile) {
+        if (checkpoint != null && checkpoint.isFinished(tile.col(), tile.row())) {
+            tileManager.tileDone(tile);
+            return;
+        }
+        SampleCache cache = adaptiveSuperSampling ? new SampleCache() : null;
+        int[] rgb = new int[tile.width() * tile.height()];
+        float[] radiance = imageWriter.isHdr() ? new float[3 * rgb.length] : null;
+        int pixel = 0;
+        for (int row = tile.row(); row < tile.row() + tile.height(); ++row)
+            for (int col = tile.col(); col < tile.col() + tile.width(); ++col) {
+                Color color = castRay(col, row, cache);
+                if (radiance != null) {
+                    radiance[3 * pixel] = (float) color.getRed();
+                    radiance[3 * pixel + 1] = (float) color.getGreen();
+                    radiance[3 * pixel + 2] = (float) color.getBlue();
+                }
+                rgb[pixel++] = color.getRGB();
+            }
+        imageWriter.writeTile(tile.col(), tile.row(), tile.width(), tile.height(), rgb);
+        if (radiance != null)
+            imageWriter.writeTile(tile.col(), tile.row(), tile.width(), tile.height(), radiance);
+        tileManager.tileDone(tile);
+    }
 
-        double minSizeX = sizeX / (numOfRaysInLine-1);
-        double minSizeY = sizeY / (numOfRaysInLine-1);
+    /**
+     * Save a rendered tile to the checkpoint and notify the tile listener (if there are ones).
+     * A tile which was skipped by a resumed render is reported to the listener as well.
+     *
+     * @param tile the tile
+     */
+    private void notifyTile(TileManager.Tile tile) {
+        if (checkpoint != null)
+            checkpoint.tileRendered(imageWriter, tile.col(), tile.row(), tile.width(), tile.height());
+        if (tileListener != null)
+            tileListener.tileRendered(imageWriter, tile.col(), tile.row(), tile.width(), tile.height());
+    }
 
-        return calcAdaptiveSuperSamplingRec(leftUp, leftUpColor, leftDown, leftDownColor, rightUp, rightUpColor, rightDown, rightDownColor, sizeX, sizeY, minSizeX, minSizeY, targetPoint);
+    /**
+     * A method to calculate the color of a square of rays' heads by adaptive super sampling.
+     * The square is divided recursively into four squares, until the colors of a square's corners are similar,
+     * or until the squares are as small as the grid of the regular super sampling
+     * (but after at most {@value #MAX_ADAPTIVE_DEPTH} divisions).
+     *
+     * @param targetPoint the point all the rays are cast to.
+     * @param headPoint   the center of the square.
+     * @param sizeX       the square's width.
+     * @param sizeY       the square's height.
+     * @param cache       the cache of the traced samples, shared by the squares.
+     * @return the average color of the square.
+     **/
+    Color calcAdaptiveSuperSampling(Point targetPoint, Point headPoint, double sizeX, double sizeY, SampleCache cache) {
+        double[] corner = VectorMath.combine(new double[3], headPoint, vUp, sizeY / 2, vRight, -sizeX / 2);
+        Point leftUp = new Point(corner[0], corner[1], corner[2]);
+
+        double minSizeX = sizeX / (numOfRaysInLine - 1);
+        double minSizeY = sizeY / (numOfRaysInLine - 1);
+        // the depth of the recursion, so the samples lie on a grid of 2^depth squares on each side
+        int depth = 0;
+        for (double x = sizeX, y = sizeY; !(x <= minSizeX || y <= minSizeY) && depth < MAX_ADAPTIVE_DEPTH; x /= 2, y /= 2)
+            ++depth;
+
+        cache.reset(leftUp, targetPoint, sizeX, sizeY, 1 << depth);
+        return calcAdaptiveSuperSamplingRec(cache, 0, 0, cache.cells);
     }
 
-    Color calcAdaptiveSuperSamplingRec(Point leftTop, Color leftTopColor, Point leftBottom, Color leftBottomColor, Point rightUp, Color rightUpColor, Point rightBottom, Color rightBottomColor, double sizeX, double sizeY, double minSizeX, double minSizeY, Point target) {
+    /**
+     * A recursive method to calculate the color of a square on the samples' grid.
+     *
+     * @param cache the cache of the traced samples.
+     * @param x     the column of the square's top left grid point.
+     * @param y     the row of the square's top left grid point.
+     * @param size  the amount of grid squares on each side of the square.
+     * @return the average color of the square.
+     **/
+    private Color calcAdaptiveSuperSamplingRec(SampleCache cache, int x, int y, int size) {
+        Color leftTopColor = traceSample(cache, x, y);
+        Color leftBottomColor = traceSample(cache, x, y + size);
+        Color rightUpColor = traceSample(cache, x + size, y);
+        Color rightBottomColor = traceSample(cache, x + size, y + size);
         Color average = (leftBottomColor.add(leftTopColor, rightBottomColor, rightUpColor)).reduce(4d);
 
-        if (average.isAlmostEquals(leftBottomColor) || sizeX <= minSizeX || sizeY <= minSizeY) {
+        if (average.isAlmostEquals(leftBottomColor) || size == 1) {
             return average;
         }
 
-        // Generating a "plus" dividing the square into four squares
-        Point top = leftTop.add(vRight.scale(sizeX / 2));
-        Point bottom = leftBottom.add(vRight.scale(sizeX / 2));
-        Point left = leftBottom.add(vUp.scale(sizeY / 2));
-        Point right = rightBottom.add(vUp.scale(sizeY / 2));
-        Point middle = leftBottom.add(vUp.scale(sizeY / 2)).add(vRight.scale(sizeX / 2));
-
-        // Calculating colors of each point on the plus
-        Color topColor = rayTracer.traceRay(new Ray(top, target.subtract(top)));
-        Color bottomColor = rayTracer.traceRay(new Ray(bottom, target.subtract(bottom)));
-        Color leftColor = rayTracer.traceRay(new Ray(left, target.subtract(left)));
-        Color rightColor = rayTracer.traceRay(new Ray(right, target.subtract(right)));
-        Color middleColor = rayTracer.traceRay(new Ray(middle, target.subtract(middle)));
-
         // Calculating squares in this order:  sq1 sq2
         //                                     sq3 sq4
-        Color sq1 = calcAdaptiveSuperSamplingRec(leftTop, leftTopColor, left, leftColor, top, topColor, middle, middleColor, sizeX / 2, sizeY / 2, minSizeX, minSizeY, target);
-        Color sq2 = calcAdaptiveSuperSamplingRec(top, topColor, middle, middleColor, rightUp, rightUpColor, right, rightColor, sizeX / 2, sizeY / 2, minSizeX, minSizeY, target);
-        Color sq3 = calcAdaptiveSuperSamplingRec(left, leftColor, leftBottom, leftBottomColor, middle, middleColor, bottom, bottomColor, sizeX / 2, sizeY / 2, minSizeX, minSizeY, target);
-        Color sq4 = calcAdaptiveSuperSamplingRec(middle, middleColor, bottom, bottomColor, right, rightColor, rightBottom, rightBottomColor, sizeX / 2, sizeY / 2, minSizeX, minSizeY, target);
+        int half = size / 2;
+        Color sq1 = calcAdaptiveSuperSamplingRec(cache, x, y, half);
+        Color sq2 = calcAdaptiveSuperSamplingRec(cache, x + half, y, half);
+        Color sq3 = calcAdaptiveSuperSamplingRec(cache, x, y + half, half);
+        Color sq4 = calcAdaptiveSuperSamplingRec(cache, x + half, y + half, half);
 
         // Average of squares is the color of the big square
         return (sq1.add(sq2, sq3, sq4)).reduce(4);
     }
 
+    /**
+     * A method to find the color of a grid point, the point's ray is traced only if it isn't in the cache.
+     *
+     * @param cache the cache of the traced samples.
+     * @param x     the grid point's column.
+     * @param y     the grid point's row (growing downwards).
+     * @return the color of the grid point's ray.
+     **/
+    private Color traceSample(SampleCache cache, int x, int y) {
+        Color color = cache.get(x, y);
+        if (color == null) {
+            double[] head = VectorMath.combine(new double[3], cache.leftTop, vRight, x * cache.cellWidth,
+                    vUp, -y * cache.cellHeight);
+            color = rayTracer.traceRay(new Ray(new Point(head[0], head[1], head[2]), cache.target));
+            cache.put(x, y, color);
+        }
+        return color;
+    }
+
+
+    /**
+     * A method to calculate the color of a square of rays' heads by sampling it until the color is known well enough.
+     * The running mean and variance of the samples' colors are kept (by Welford's algorithm), and samples are added
+     * until the 95% confidence interval of every color component is narrower than the threshold,
+     * or until the samples' budget of the pixel is used.
+     * The samples are spread over the square by a low discrepancy sequence, so every prefix of it covers the square.
+     *
+     * @param targetPoint the point all the rays are cast to.
+     * @param headPoint   the center of the square.
+     * @param sizeX       the square's width.
+     * @param sizeY       the square's height.
+     * @param xIndex      the pixel's column, for counting its samples.
+     * @param yIndex      the pixel's row, for counting its samples.
+     * @return the mean color of the samples.
+     **/
+    private Color calcVarianceSampling(Point targetPoint, Point headPoint, double sizeX, double sizeY, int xIndex, int yIndex) {
+        double[] corner = VectorMath.combine(new double[3], headPoint, vUp, sizeY / 2, vRight, -sizeX / 2);
+        Point leftUp = new Point(corner[0], corner[1], corner[2]);
+        double[] head = new double[3];
+        double meanR = 0, meanG = 0, meanB = 0;
+        double m2R = 0, m2G = 0, m2B = 0;
+        int n = 0;
+        double u = 0.5, v = 0.5;
+        while (n < maxSamples) {
+            u = (u + SEQUENCE_STEP_X) % 1;
+            v = (v + SEQUENCE_STEP_Y) % 1;
+            // offsets too small to move the head are skipped, as they would be by adding them to a point
+            VectorMath.combine(head, leftUp, vRight, isZero(u * sizeX) ? 0 : u * sizeX,
+                    vUp, isZero(v * sizeY) ? 0 : -v * sizeY);
+            Color color = rayTracer.traceRay(new Ray(new Point(head[0], head[1], head[2]), targetPoint));
+
+            ++n;
+            double delta = color.getRed() - meanR;
+            meanR += delta / n;
+            m2R += delta * (color.getRed() - meanR);
+            delta = color.getGreen() - meanG;
+            meanG += delta / n;
+            m2G += delta * (color.getGreen() - meanG);
+            delta = color.getBlue() - meanB;
+            meanB += delta / n;
+            m2B += delta * (color.getBlue() - meanB);
+
+            if (n >= MIN_VARIANCE_SAMPLES) {
+                // the half width of the confidence interval is z * sqrt(variance / n)
+                double maxVariance = Math.max(m2R, Math.max(m2G, m2B)) / (n - 1);
+                if (CONFIDENCE_Z * Math.sqrt(maxVariance / n) <= varianceThreshold) break;
+            }
+        }
+        sampleCounts[yIndex][xIndex] += n;
+        return new Color(meanR, meanG, meanB);
+    }
 
     /**
      * A method to generate the aperture for a pixel as a list of points.
@@ -428,11 +817,65 @@ public class Camera {
         return this;
     }
 
+    /**
+     * A method to enable sampling the depth of field and the antialiasing features adaptively - a square is divided
+     * only where the colors of its corners differ, down to the grid of {@link #setNumOfRaysInLine(int)} rays in a line
+     * but at most 8 times.
+     **/
     public Camera enableAdaptiveSuperSampling() {
         adaptiveSuperSampling = true;
         return this;
     }
 
+    /**
+     * A method to enable sampling every pixel until the error estimate of its color is below a threshold.
+     * The sampling is used for the depth of field and the antialiasing features, instead of the regular grid.
+     *
+     * @param threshold  the maximal half width of the 95% confidence interval of the color components.
+     * @param maxSamples the maximal amount of samples for each of the features in a pixel.
+     **/
+    public Camera enableVarianceSampling(double threshold, int maxSamples) {
+        if (threshold < 0)
+            throw new IllegalArgumentException("threshold can't be negative");
+        if (maxSamples < 1)
+            throw new IllegalArgumentException("samples budget must be positive");
+        varianceSampling = true;
+        varianceThreshold = threshold;
+        this.maxSamples = maxSamples;
+        return this;
+    }
+
+    /**
+     * Getter to receive the amount of samples traced for every pixel in the last render with variance sampling.
+     *
+     * @return the amounts by [row][column], or null if variance sampling wasn't used.
+     **/
+    public int[][] getSampleCounts() {
+        return sampleCounts;
+    }
+
+    /**
+     * A method to write the amount of samples of every pixel in the last render as a heat map image,
+     * from blue (a single sample) to red (the whole budget).
+     *
+     * @param imageName the name of the image file.
+     **/
+    public void writeSampleHeatMap(String imageName) {
+        if (sampleCounts == null)
+            throw new MissingResourceException("no samples were counted", "Camera", "sampleCounts");
+        int nY = sampleCounts.length;
+        int nX = nY == 0 ? 0 : sampleCounts[0].length;
+        // both the depth of field and the antialiasing may use a whole budget
+        int budget = !isZero(apertureSize) && antialiasing ? 2 * maxSamples : maxSamples;
+        ImageWriter heatMap = new ImageWriter(imageName, nX, nY);
+        for (int i = 0; i < nY; ++i)
+            for (int j = 0; j < nX; ++j) {
+                double heat = Math.min(1, (double) (sampleCounts[i][j] - 1) / Math.max(1, budget - 1));
+                heatMap.writePixel(j, i, new Color(255 * heat, 0, 255 * (1 - heat)));
+            }
+        heatMap.writeToImage();
+    }
+
     /**
      * Constructor to initialize the camera with its location point and two direction vectors, as well as a rotation angle.
      *
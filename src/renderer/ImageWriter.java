@@ -2,8 +2,15 @@ package renderer;
 
 import primitives.Color;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -13,17 +20,46 @@ import javax.imageio.*;
  * Image writer class combines accumulation of pixel color matrix and finally
  * producing a non-optimized jpeg image from this matrix. The class although is
  * responsible for holding image related parameters of View Plane - pixel matrix
- * size and resolution
+ * size and resolution. An image writer whose pixels are in a memory mapped file
+ * should be closed when it isn't needed anymore
  * 
  * @author Dan
  */
-public class ImageWriter {
+public class ImageWriter implements AutoCloseable {
 	private int nX;
 	private int nY;
 
 	private static final String FOLDER_PATH = System.getProperty("user.dir") + "/images";
 
+	// the magic number of a framebuffer file ("RTFB")
+	private static final int FRAMEBUFFER_MAGIC = 0x52544642;
+	// the size of a framebuffer file's header - the magic number, nX, nY and a reserved int
+	private static final int FRAMEBUFFER_HEADER = 16;
+	// the greatest size of a single mapping of a framebuffer file
+	private static final int MAPPED_BAND_BYTES = 1 << 30;
+	// the amount of rows of a memory mapped image encoded together when it is written
+	private static final int MAPPED_ENCODE_ROWS = 16;
+
 	private BufferedImage image;
+	// the image's pixels by rows, written directly instead of through the image's synchronized raster -
+	// null if the pixels are in a memory mapped file
+	private final int[] pixels;
+	// the mappings of the bands of rows of a memory mapped image (a mapping is limited to 2GB),
+	// null for an image in the heap
+	private final MappedByteBuffer[] mappings;
+	// the pixels of a memory mapped image by bands of rows, null for an image in the heap
+	private final IntBuffer[] mappedBands;
+	// the amount of rows in a band of the memory mapped pixels
+	private final int mappedBandRows;
+	// the channel of the memory mapped file, null for an image in the heap
+	private final FileChannel framebufferChannel;
+	// whether the memory mapped file was closed, so its pixels can't be accessed anymore
+	private boolean closed = false;
+	// the linear radiance of the pixels by rows, 3 components each and without an upper limit -
+	// null unless the HDR framebuffer was enabled
+	private float[] radiance = null;
+	// the operator mapping the radiance to the image when it is written, null to write the pixels as they are
+	private ToneMapper toneMapper = null;
 	private String imageName;
 	
 	private Logger logger = Logger.getLogger("ImageWriter");
@@ -34,13 +70,123 @@ public class ImageWriter {
 	 * @param imageName the name of jpeg file
 	 * @param nX        amount of pixels by Width
 	 * @param nY        amount of pixels by height
+	 * @throws IllegalArgumentException if the image has more pixels than an array
+	 *                                  can hold - a memory mapped image may be used
+	 *                                  instead
 	 */
 	public ImageWriter(String imageName, int nX, int nY) {
+		if ((long) nX * nY > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Image too large for the heap - use a memory mapped framebuffer");
 		this.imageName = imageName;
 		this.nX = nX;
 		this.nY = nY;
 
 		image = new BufferedImage(nX, nY, BufferedImage.TYPE_INT_RGB);
+		pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		mappings = null;
+		mappedBands = null;
+		mappedBandRows = 0;
+		framebufferChannel = null;
+	}
+
+	/**
+	 * Image Writer constructor of an image whose pixel color matrix is kept in a
+	 * memory mapped file instead of the heap, for images too big for it. The
+	 * operating system pages the pixels between the memory and the file, and the
+	 * file can be opened again later by {@link #ImageWriter(String, Path)}
+	 * @param imageName   the name of png file
+	 * @param nX          amount of pixels by Width
+	 * @param nY          amount of pixels by height
+	 * @param framebuffer the file of the pixel color matrix, created (or
+	 *                    overwritten) black
+	 * @throws IllegalArgumentException if a row of the image is larger than a
+	 *                                  single mapping
+	 */
+	public ImageWriter(String imageName, int nX, int nY, Path framebuffer) {
+		this(imageName, new int[] { nX, nY }, framebuffer, true);
+	}
+
+	/**
+	 * Image Writer constructor of an image whose pixel color matrix was kept in a
+	 * memory mapped file by {@link #ImageWriter(String, int, int, Path)}, e.g. in
+	 * order to write it as a png file
+	 * @param imageName   the name of png file
+	 * @param framebuffer the file of the pixel color matrix
+	 */
+	public ImageWriter(String imageName, Path framebuffer) {
+		this(imageName, readFramebufferSize(framebuffer), framebuffer, false);
+	}
+
+	/**
+	 * Image Writer constructor of an image whose pixel color matrix is kept in a
+	 * memory mapped file
+	 * @param imageName   the name of png file
+	 * @param size        amount of pixels by width and by height
+	 * @param framebuffer the file of the pixel color matrix
+	 * @param create      whether to create the file or to open an existing one
+	 */
+	private ImageWriter(String imageName, int[] size, Path framebuffer, boolean create) {
+		this.imageName = imageName;
+		this.nX = size[0];
+		this.nY = size[1];
+		if (nX < 1 || nY < 1)
+			throw new IllegalArgumentException("Image size must be positive");
+		// the index of a pixel in a band is an int, and a band holds one row at least
+		if (4L * nX > MAPPED_BAND_BYTES)
+			throw new IllegalArgumentException("Image row too large for a memory mapped framebuffer");
+
+		pixels = null;
+		mappedBandRows = MAPPED_BAND_BYTES / 4 / nX;
+		mappings = new MappedByteBuffer[(nY + mappedBandRows - 1) / mappedBandRows];
+		mappedBands = new IntBuffer[mappings.length];
+		FileChannel channel = null;
+		try {
+			channel = create
+					? FileChannel.open(framebuffer, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+							StandardOpenOption.READ, StandardOpenOption.WRITE)
+					: FileChannel.open(framebuffer, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			if (create)
+				channel.write(ByteBuffer.allocate(FRAMEBUFFER_HEADER).putInt(FRAMEBUFFER_MAGIC).putInt(nX).putInt(nY)
+						.putInt(0).flip(), 0);
+			else if (channel.size() < FRAMEBUFFER_HEADER + 4L * nX * nY)
+				throw new IllegalArgumentException("The framebuffer file is truncated");
+			for (int band = 0; band < mappings.length; ++band) {
+				long rows = Math.min(mappedBandRows, nY - (long) band * mappedBandRows);
+				mappings[band] = channel.map(FileChannel.MapMode.READ_WRITE,
+						FRAMEBUFFER_HEADER + 4L * band * mappedBandRows * nX, 4 * rows * nX);
+				mappedBands[band] = mappings[band].asIntBuffer();
+			}
+		} catch (IOException | RuntimeException e) {
+			if (channel != null)
+				try {
+					channel.close();
+				} catch (IOException closeError) {
+					e.addSuppressed(closeError);
+				}
+			if (e instanceof RuntimeException runtimeError)
+				throw runtimeError;
+			logger.log(Level.SEVERE, "I/O error", e);
+			throw new IllegalStateException("I/O error - can't map the framebuffer file " + framebuffer, e);
+		}
+		framebufferChannel = channel;
+	}
+
+	/**
+	 * Read the size of the image in a framebuffer file
+	 * @param framebuffer the file of the pixel color matrix
+	 * @return amount of pixels by width and by height
+	 */
+	private static int[] readFramebufferSize(Path framebuffer) {
+		try (FileChannel channel = FileChannel.open(framebuffer, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(FRAMEBUFFER_HEADER);
+			channel.read(header, 0);
+			header.flip();
+			if (header.remaining() < FRAMEBUFFER_HEADER || header.getInt() != FRAMEBUFFER_MAGIC)
+				throw new IllegalArgumentException("Not a framebuffer file: " + framebuffer);
+			return new int[] { header.getInt(), header.getInt() };
+		} catch (IOException e) {
+			throw new IllegalStateException("I/O error - can't read the framebuffer file " + framebuffer, e);
+		}
 	}
 
 	// ***************** Getters/Setters ********************** //
@@ -62,16 +208,80 @@ public class ImageWriter {
 		return nX;
 	}
 
+	/**
+	 * Enable the HDR framebuffer - from now on the written colors are kept
+	 * unclamped as well, so the image can be tone mapped when it is written
+	 * 
+	 * @return the image writer
+	 * @throws IllegalStateException if the pixels are in a memory mapped file, or
+	 *                               the image has too many pixels for the three
+	 *                               components of each to fit in an array
+	 */
+	public ImageWriter enableHdr() {
+		if (pixels == null)
+			throw new IllegalStateException("HDR framebuffer isn't supported for a memory mapped image");
+		if (3L * nX * nY > Integer.MAX_VALUE)
+			throw new IllegalStateException("Image too large for the HDR framebuffer");
+		if (radiance == null)
+			radiance = new float[3 * nX * nY];
+		return this;
+	}
+
+	/**
+	 * Check whether the HDR framebuffer is enabled
+	 * 
+	 * @return true if the written colors are kept unclamped
+	 */
+	public boolean isHdr() {
+		return radiance != null;
+	}
+
+	/**
+	 * Set the tone mapping operator applied to the HDR framebuffer when the image
+	 * is written. Changing the operator and writing the image again re-grades it
+	 * without rendering it again
+	 * 
+	 * @param toneMapper the operator, null to write the pixels as they were
+	 *                   written (clamped)
+	 * @return the image writer
+	 * @throws IllegalStateException if the HDR framebuffer isn't enabled
+	 */
+	public ImageWriter setToneMapper(ToneMapper toneMapper) {
+		if (toneMapper != null && radiance == null)
+			throw new IllegalStateException("HDR framebuffer isn't enabled");
+		this.toneMapper = toneMapper;
+		return this;
+	}
+
 	// ***************** Operations ******************** //
 
 	/**
 	 * Function writeToImage produces unoptimized png file of the image according to
-	 * pixel color matrix in the directory of the project
+	 * pixel color matrix in the directory of the project. If a tone mapping
+	 * operator is set, the HDR framebuffer is mapped by it into a separate image
+	 * which is written instead, so the pixel color matrix keeps the written
+	 * (clamped) pixels. The pixels of a memory mapped image are first forced to its
+	 * file, and are encoded a band of rows at a time, without loading the whole
+	 * image
 	 */
 	public void writeToImage() {
+		if (pixels == null) {
+			force();
+			try (PngStreamWriter png = new PngStreamWriter(this, MAPPED_ENCODE_ROWS)) {
+				for (int row = 0; row < nY; row += MAPPED_ENCODE_ROWS)
+					png.tileRendered(this, 0, row, nX, Math.min(MAPPED_ENCODE_ROWS, nY - row));
+			}
+			return;
+		}
+		BufferedImage graded = image;
+		if (toneMapper != null) {
+			graded = new BufferedImage(nX, nY, BufferedImage.TYPE_INT_RGB);
+			int[] gradedPixels = ((DataBufferInt) graded.getRaster().getDataBuffer()).getData();
+			for (int pixel = 0, i = 0; pixel < gradedPixels.length; ++pixel, i += 3)
+				gradedPixels[pixel] = toneMapper.map(radiance[i], radiance[i + 1], radiance[i + 2]);
+		}
 		try {
-			File file = new File(FOLDER_PATH + '/' + imageName + ".png");
-			ImageIO.write(image, "png", file);
+			ImageIO.write(graded, "png", getFile());
 		} catch (IOException e) {
 			logger.log(Level.SEVERE, "I/O error", e);
 			throw new IllegalStateException("I/O error - may be missing directory " + FOLDER_PATH, e);
@@ -87,7 +297,179 @@ public class ImageWriter {
 	 * @param color  final color of the pixel
 	 */
 	public void writePixel(int xIndex, int yIndex, Color color) {
-		image.setRGB(xIndex, yIndex, color.getColor().getRGB());
+		checkTile(xIndex, yIndex, 1, 1);
+		int pixel = yIndex * nX + xIndex;
+		if (pixels == null) {
+			mappedBands[yIndex / mappedBandRows].put((yIndex % mappedBandRows) * nX + xIndex, color.getRGB());
+			return;
+		}
+		pixels[pixel] = color.getRGB();
+		if (radiance != null) {
+			radiance[3 * pixel] = (float) color.getRed();
+			radiance[3 * pixel + 1] = (float) color.getGreen();
+			radiance[3 * pixel + 2] = (float) color.getBlue();
+		}
+	}
+
+	/**
+	 * The function writeTile writes the colors of a rectangle of pixels into pixel
+	 * color matrix at once, a row at a time
+	 * 
+	 * @param xIndex X axis index of the rectangle's top left pixel
+	 * @param yIndex Y axis index of the rectangle's top left pixel
+	 * @param width  amount of pixels by width
+	 * @param height amount of pixels by height
+	 * @param rgb    final colors of the pixels by rows, packed like
+	 *               {@link Color#getRGB()}
+	 */
+	public void writeTile(int xIndex, int yIndex, int width, int height, int[] rgb) {
+		checkTile(xIndex, yIndex, width, height);
+		if (rgb.length < width * height)
+			throw new IllegalArgumentException("Not enough colors for the tile");
+		for (int row = 0; row < height; ++row)
+			if (pixels != null)
+				System.arraycopy(rgb, row * width, pixels, (yIndex + row) * nX + xIndex, width);
+			else
+				mappedBands[(yIndex + row) / mappedBandRows].put(((yIndex + row) % mappedBandRows) * nX + xIndex, rgb,
+						row * width, width);
+	}
+
+	/**
+	 * The function writeTile writes the radiance of a rectangle of pixels into the
+	 * HDR framebuffer at once, a row at a time
+	 * 
+	 * @param xIndex   X axis index of the rectangle's top left pixel
+	 * @param yIndex   Y axis index of the rectangle's top left pixel
+	 * @param width    amount of pixels by width
+	 * @param height   amount of pixels by height
+	 * @param radiance the unclamped red, green and blue components of the pixels by
+	 *                 rows
+	 * @throws IllegalStateException if the HDR framebuffer isn't enabled
+	 */
+	public void writeTile(int xIndex, int yIndex, int width, int height, float[] radiance) {
+		if (this.radiance == null)
+			throw new IllegalStateException("HDR framebuffer isn't enabled");
+		checkTile(xIndex, yIndex, width, height);
+		if (radiance.length < 3 * width * height)
+			throw new IllegalArgumentException("Not enough colors for the tile");
+		for (int row = 0; row < height; ++row)
+			System.arraycopy(radiance, 3 * row * width, this.radiance, 3 * ((yIndex + row) * nX + xIndex), 3 * width);
+	}
+
+	/**
+	 * The function readTile reads the colors of a rectangle of pixels from pixel
+	 * color matrix at once, a row at a time
+	 * 
+	 * @param xIndex X axis index of the rectangle's top left pixel
+	 * @param yIndex Y axis index of the rectangle's top left pixel
+	 * @param width  amount of pixels by width
+	 * @param height amount of pixels by height
+	 * @param rgb    the array the colors of the pixels are read into by rows,
+	 *               packed like {@link Color#getRGB()}
+	 */
+	public void readTile(int xIndex, int yIndex, int width, int height, int[] rgb) {
+		checkTile(xIndex, yIndex, width, height);
+		if (rgb.length < width * height)
+			throw new IllegalArgumentException("Not enough room for the tile");
+		for (int row = 0; row < height; ++row)
+			if (pixels != null)
+				System.arraycopy(pixels, (yIndex + row) * nX + xIndex, rgb, row * width, width);
+			else
+				mappedBands[(yIndex + row) / mappedBandRows].get(((yIndex + row) % mappedBandRows) * nX + xIndex, rgb,
+						row * width, width);
+	}
+
+	/**
+	 * Close the image writer - the pixels of a memory mapped image are forced to
+	 * its file, and the file is released, so they can't be accessed anymore. The
+	 * pixels of an image in the heap are kept
+	 */
+	@Override
+	public void close() {
+		if (pixels != null || closed)
+			return;
+		force();
+		closed = true;
+		// a mapping is released when it isn't referenced anymore
+		for (int band = 0; band < mappings.length; ++band) {
+			mappings[band] = null;
+			mappedBands[band] = null;
+		}
+		try {
+			framebufferChannel.close();
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, "I/O error", e);
+			throw new IllegalStateException("I/O error - can't close the framebuffer file", e);
+		}
+	}
+
+	/**
+	 * Write the changed pixels of a memory mapped image to its file
+	 */
+	private void force() {
+		if (closed)
+			throw new IllegalStateException("The framebuffer file was closed");
+		for (MappedByteBuffer mapping : mappings)
+			mapping.force();
+	}
+
+	/**
+	 * The file the image is written to - a png file named by the image in the
+	 * directory of the project
+	 * 
+	 * @return the file
+	 */
+	File getFile() {
+		return new File(FOLDER_PATH + '/' + imageName + ".png");
+	}
+
+	/**
+	 * The function getRGB reads the color of a specific pixel from pixel color
+	 * matrix
+	 * 
+	 * @param xIndex X axis index of the pixel
+	 * @param yIndex Y axis index of the pixel
+	 * @return the pixel's color, packed like {@link Color#getRGB()}
+	 */
+	public int getRGB(int xIndex, int yIndex) {
+		checkTile(xIndex, yIndex, 1, 1);
+		if (pixels == null)
+			return mappedBands[yIndex / mappedBandRows].get((yIndex % mappedBandRows) * nX + xIndex) | 0xFF000000;
+		return pixels[yIndex * nX + xIndex] | 0xFF000000;
+	}
+
+	/**
+	 * The function getRadiance reads the unclamped color of a specific pixel from
+	 * the HDR framebuffer
+	 * 
+	 * @param xIndex X axis index of the pixel
+	 * @param yIndex Y axis index of the pixel
+	 * @return the pixel's radiance
+	 * @throws IllegalStateException if the HDR framebuffer isn't enabled
+	 */
+	public Color getRadiance(int xIndex, int yIndex) {
+		if (radiance == null)
+			throw new IllegalStateException("HDR framebuffer isn't enabled");
+		checkTile(xIndex, yIndex, 1, 1);
+		int i = 3 * (yIndex * nX + xIndex);
+		return new Color(radiance[i], radiance[i + 1], radiance[i + 2]);
+	}
+
+	/**
+	 * Check that a rectangle of pixels is inside the pixel color matrix, since
+	 * a pixel out of a row would silently go to the next one
+	 * 
+	 * @param xIndex X axis index of the rectangle's top left pixel
+	 * @param yIndex Y axis index of the rectangle's top left pixel
+	 * @param width  amount of pixels by width
+	 * @param height amount of pixels by height
+	 * @throws IllegalStateException if the framebuffer file was closed
+	 */
+	private void checkTile(int xIndex, int yIndex, int width, int height) {
+		if (closed)
+			throw new IllegalStateException("The framebuffer file was closed");
+		if (xIndex < 0 || yIndex < 0 || width < 0 || height < 0 || xIndex + width > nX || yIndex + height > nY)
+			throw new IndexOutOfBoundsException("Pixels out of the image");
 	}
 
 }
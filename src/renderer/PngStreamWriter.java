@@ -0,0 +1,377 @@
+package renderer;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A tile listener streaming the image to a PNG file while it is rendered, instead of encoding
+ * the whole image by {@link ImageWriter#writeToImage()} after the render.<br/>
+ * The image is divided into bands of rows. The thread which completes the last tile of a band
+ * filters and compresses the band on its own, so the bands are compressed in parallel by the render threads,
+ * and the bands are written to the file in order as soon as all the bands above them were written.
+ * The chunks of the bands are built by the compressing threads as well - the lock is held only to queue
+ * a band and to claim the bands which are ready, and a single thread at a time appends them to the file.
+ * The compressed bands are parts of a single zlib stream - every band but the last ends at a byte boundary
+ * by a sync flush, and the checksums of the bands are combined into the stream's checksum.
+ * The image is written as rendered, without the image writer's tone mapping.
+ */
+public class PngStreamWriter implements TileListener, Closeable {
+    // the PNG file signature
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    // the zlib header of a deflate stream with a 32K window and the default compression
+    private static final byte[] ZLIB_HEADER = {0x78, (byte) 0x9C};
+    // the modulus of the Adler-32 checksum
+    private static final long ADLER_BASE = 65521;
+
+    // the image writer holding the rendered pixels
+    private final ImageWriter imageWriter;
+    // the PNG file stream
+    private final OutputStream out;
+    // the amount of rows in a band (the last band may be shorter)
+    private final int bandHeight;
+    // the amount of bands
+    private final int bandsCount;
+    // the amount of rendered pixels of every band
+    private final AtomicIntegerArray bandPixels;
+    // the compressed bands waiting for the bands above them to be written, guarded by this
+    private final Band[] bands;
+    // the first band which wasn't claimed for writing yet, guarded by this
+    private int nextBand = 0;
+    // whether a thread is appending the claimed bands to the file, guarded by this
+    private boolean writing = false;
+    // the checksum of the written bands, used only by the appending thread
+    private long adler = 1;
+
+    /**
+     * A compressed band
+     *
+     * @param chunk  the IDAT chunk of the compressed rows.
+     * @param adler  the checksum of the uncompressed (filtered) rows.
+     * @param length the length of the uncompressed rows.
+     */
+    private record Band(byte[] chunk, long adler, long length) {
+    }
+
+    /**
+     * Constructor to initialize a stream writer of an image to the image writer's png file.
+     *
+     * @param imageWriter the image writer the image is rendered into.
+     * @param bandHeight  the amount of rows compressed together - usually the camera's tile size.
+     * @throws IllegalStateException if the file can't be written.
+     */
+    public PngStreamWriter(ImageWriter imageWriter, int bandHeight) {
+        this(imageWriter, openFile(imageWriter), bandHeight);
+    }
+
+    /**
+     * Constructor to initialize a stream writer of an image to an output stream.
+     *
+     * @param imageWriter the image writer the image is rendered into.
+     * @param out         the stream the png image is written to.
+     * @param bandHeight  the amount of rows compressed together - usually the camera's tile size.
+     * @throws IllegalStateException if the stream can't be written.
+     */
+    public PngStreamWriter(ImageWriter imageWriter, OutputStream out, int bandHeight) {
+        if (bandHeight < 1)
+            throw new IllegalArgumentException("band height must be positive");
+        this.imageWriter = imageWriter;
+        this.out = out;
+        this.bandHeight = bandHeight;
+        bandsCount = (imageWriter.getNy() + bandHeight - 1) / bandHeight;
+        bandPixels = new AtomicIntegerArray(bandsCount);
+        bands = new Band[bandsCount];
+
+        byte[] header = new byte[13];
+        putInt(header, 0, imageWriter.getNx());
+        putInt(header, 4, imageWriter.getNy());
+        header[8] = 8; // bit depth
+        header[9] = 2; // RGB color type (compression, filter and interlace methods are 0)
+        try {
+            out.write(SIGNATURE);
+            writeChunk("IHDR", header);
+            writeChunk("IDAT", ZLIB_HEADER);
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error", e);
+        }
+    }
+
+    /**
+     * Open the png file of an image writer
+     *
+     * @param imageWriter the image writer.
+     * @return the file's stream.
+     */
+    private static OutputStream openFile(ImageWriter imageWriter) {
+        try {
+            return new BufferedOutputStream(new FileOutputStream(imageWriter.getFile()));
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - may be missing directory " + imageWriter.getFile().getParent(), e);
+        }
+    }
+
+    @Override
+    public void tileRendered(ImageWriter imageWriter, int col, int row, int width, int height) {
+        for (int band = row / bandHeight; band < bandsCount && band * bandHeight < row + height; ++band) {
+            int rows = Math.min(row + height, (band + 1) * bandHeight) - Math.max(row, band * bandHeight);
+            int pixels = bandPixels.addAndGet(band, rows * width);
+            int bandSize = bandRows(band) * this.imageWriter.getNx();
+            if (pixels > bandSize)
+                throw new IllegalStateException("pixels of a written band were rendered again");
+            if (pixels == bandSize)
+                writeBand(band, compress(band));
+        }
+    }
+
+    /**
+     * Check whether the whole image was written
+     *
+     * @return true if all the bands were written
+     */
+    public synchronized boolean isDone() {
+        return nextBand == bandsCount && !writing;
+    }
+
+    /**
+     * Close the stream.
+     *
+     * @throws IllegalStateException if the image wasn't rendered completely, so the file is partial.
+     */
+    @Override
+    public void close() {
+        boolean done = isDone();
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error", e);
+        }
+        if (!done)
+            throw new IllegalStateException("the image wasn't rendered completely");
+    }
+
+    /**
+     * The amount of rows in a band
+     *
+     * @param band the band's index.
+     * @return the amount of rows.
+     */
+    private int bandRows(int band) {
+        return Math.min(bandHeight, imageWriter.getNy() - band * bandHeight);
+    }
+
+    /**
+     * Filter and compress the rows of a band.
+     * The first row is filtered by its left neighbours only (the Sub filter), since the band above
+     * may not be rendered yet, and the other rows by the Paeth filter.
+     *
+     * @param band the band's index.
+     * @return the compressed band.
+     */
+    private Band compress(int band) {
+        int nX = imageWriter.getNx();
+        int rows = bandRows(band);
+        int[] rgb = new int[nX * rows];
+        imageWriter.readTile(0, band * bandHeight, nX, rows, rgb);
+
+        int stride = 3 * nX + 1;
+        byte[] raw = new byte[stride * rows];
+        for (int row = 0; row < rows; ++row) {
+            int start = row * stride;
+            raw[start] = (byte) (row == 0 ? 1 : 4);
+            for (int x = 0; x < nX; ++x) {
+                int pixel = rgb[row * nX + x];
+                for (int c = 0; c < 3; ++c) {
+                    int shift = 16 - 8 * c;
+                    int value = pixel >> shift & 0xFF;
+                    int left = x == 0 ? 0 : rgb[row * nX + x - 1] >> shift & 0xFF;
+                    int predictor = left;
+                    if (row > 0) {
+                        int up = rgb[(row - 1) * nX + x] >> shift & 0xFF;
+                        int upLeft = x == 0 ? 0 : rgb[(row - 1) * nX + x - 1] >> shift & 0xFF;
+                        predictor = paeth(left, up, upLeft);
+                    }
+                    raw[start + 1 + 3 * x + c] = (byte) (value - predictor);
+                }
+            }
+        }
+
+        Adler32 checksum = new Adler32();
+        checksum.update(raw);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(raw);
+        ByteArrayOutputStream data = new ByteArrayOutputStream(raw.length / 4 + 64);
+        byte[] buffer = new byte[8192];
+        if (band == bandsCount - 1) {
+            deflater.finish();
+            while (!deflater.finished())
+                data.write(buffer, 0, deflater.deflate(buffer));
+        } else {
+            // the band's blocks end at a byte boundary, so the next band's blocks can follow them
+            int length;
+            do {
+                length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                data.write(buffer, 0, length);
+            } while (length == buffer.length);
+        }
+        deflater.end();
+        return new Band(chunk("IDAT", data.toByteArray()), checksum.getValue(), raw.length);
+    }
+
+    /**
+     * The Paeth predictor of the PNG filters - the neighbour closest to left + up - upLeft
+     *
+     * @param left   the left neighbour.
+     * @param up     the upper neighbour.
+     * @param upLeft the upper left neighbour.
+     * @return the predictor.
+     */
+    private static int paeth(int left, int up, int upLeft) {
+        int p = left + up - upLeft;
+        int pLeft = Math.abs(p - left);
+        int pUp = Math.abs(p - up);
+        int pUpLeft = Math.abs(p - upLeft);
+        if (pLeft <= pUp && pLeft <= pUpLeft) return left;
+        return pUp <= pUpLeft ? up : upLeft;
+    }
+
+    /**
+     * Store a compressed band, and write all the bands which are ready in order.
+     * If another thread is already appending bands, it writes this band too when it is ready,
+     * so the file is written by one thread at a time without holding the lock.
+     * After the last band, the stream's checksum and the end of the image are written.
+     *
+     * @param band       the band's index.
+     * @param compressed the compressed band.
+     */
+    private void writeBand(int band, Band compressed) {
+        synchronized (this) {
+            bands[band] = compressed;
+            if (writing) return;
+            writing = true;
+        }
+        try {
+            Band[] ready;
+            while ((ready = claimBands()) != null) {
+                for (Band next : ready) {
+                    out.write(next.chunk());
+                    adler = combineAdler(adler, next.adler(), next.length());
+                }
+                // the last band was claimed by this thread, so no other band follows it
+                if (nextBandClaimed() == bandsCount) {
+                    byte[] trailer = new byte[4];
+                    putInt(trailer, 0, (int) adler);
+                    writeChunk("IDAT", trailer);
+                    writeChunk("IEND", new byte[0]);
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                writing = false;
+            }
+            throw new IllegalStateException("I/O error", e);
+        }
+    }
+
+    /**
+     * Claim the bands which are ready to be written in order, or stop appending if none is ready.
+     *
+     * @return the claimed bands, or null if there are none.
+     */
+    private synchronized Band[] claimBands() {
+        int first = nextBand;
+        while (nextBand < bandsCount && bands[nextBand] != null) ++nextBand;
+        if (first == nextBand) {
+            writing = false;
+            return null;
+        }
+        Band[] ready = new Band[nextBand - first];
+        for (int band = first; band < nextBand; ++band) {
+            ready[band - first] = bands[band];
+            bands[band] = null;
+        }
+        return ready;
+    }
+
+    /**
+     * The first band which wasn't claimed for writing yet
+     *
+     * @return the band's index.
+     */
+    private synchronized int nextBandClaimed() {
+        return nextBand;
+    }
+
+    /**
+     * Combine the Adler-32 checksums of two consecutive parts of data into the checksum of the whole data
+     * (as adler32_combine of zlib).
+     *
+     * @param adler1  the checksum of the first part.
+     * @param adler2  the checksum of the second part.
+     * @param length2 the length of the second part.
+     * @return the combined checksum.
+     */
+    static long combineAdler(long adler1, long adler2, long length2) {
+        long rem = length2 % ADLER_BASE;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = rem * sum1 % ADLER_BASE;
+        sum1 += (adler2 & 0xFFFF) + ADLER_BASE - 1;
+        sum2 += (adler1 >> 16 & 0xFFFF) + (adler2 >> 16 & 0xFFFF) + ADLER_BASE - rem;
+        if (sum1 >= ADLER_BASE) sum1 -= ADLER_BASE;
+        if (sum1 >= ADLER_BASE) sum1 -= ADLER_BASE;
+        if (sum2 >= ADLER_BASE << 1) sum2 -= ADLER_BASE << 1;
+        if (sum2 >= ADLER_BASE) sum2 -= ADLER_BASE;
+        return sum1 | sum2 << 16;
+    }
+
+    /**
+     * Write a PNG chunk
+     *
+     * @param type the chunk's type.
+     * @param data the chunk's data.
+     */
+    private void writeChunk(String type, byte[] data) throws IOException {
+        out.write(chunk(type, data));
+    }
+
+    /**
+     * Build a PNG chunk - its length, type, data and CRC
+     *
+     * @param type the chunk's type.
+     * @param data the chunk's data.
+     * @return the chunk's bytes.
+     */
+    private static byte[] chunk(String type, byte[] data) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        byte[] chunk = new byte[12 + data.length];
+        putInt(chunk, 0, data.length);
+        System.arraycopy(typeBytes, 0, chunk, 4, 4);
+        System.arraycopy(data, 0, chunk, 8, data.length);
+        CRC32 crc = new CRC32();
+        crc.update(chunk, 4, 4 + data.length);
+        putInt(chunk, 8 + data.length, (int) crc.getValue());
+        return chunk;
+    }
+
+    /**
+     * Put an int into an array in big endian order
+     *
+     * @param bytes  the array.
+     * @param offset the index of the int's first byte.
+     * @param value  the int.
+     */
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+}
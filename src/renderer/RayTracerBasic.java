@@ -1,12 +1,15 @@
 package renderer;
 
+import geometries.Geometries;
+import geometries.Geometry;
 import geometries.Intersectable.GeoPoint;
 import geometries.Plane;
 import lighting.LightSource;
 import primitives.*;
 import scene.Scene;
 
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
 
 import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
@@ -17,10 +20,34 @@ import static primitives.Util.isZero;
  */
 public class RayTracerBasic extends RayTracerBase {
 
-    private static final int MAX_CALC_COLOR_LEVEL = 10;
-    private static final double MIN_CALC_COLOR_K = 0.001;
-    private static final Double3 INITIAL_K = Double3.ONE;
+    protected static final int MAX_CALC_COLOR_LEVEL = 10;
+    protected static final double MIN_CALC_COLOR_K = 0.001;
+    protected static final Double3 INITIAL_K = Double3.ONE;
 
+    // reusable intersection records of every thread - one for each recursion level,
+    // the record of level 0 (which is never traced) is used for the shadow rays
+    private final ThreadLocal<GeoPoint[]> hits = ThreadLocal.withInitial(() -> {
+        GeoPoint[] records = new GeoPoint[MAX_CALC_COLOR_LEVEL + 1];
+        for (int i = 0; i < records.length; ++i)
+            records[i] = new GeoPoint();
+        return records;
+    });
+
+    // the last opaque geometry which blocked a shadow ray of every light, for every thread
+    private final ThreadLocal<Occluders> occluders = ThreadLocal.withInitial(Occluders::new);
+    // the amount of shadow rays found blocked by the last occluder of their light, and the amount searched in the scene
+    private final LongAdder occluderHits = new LongAdder(), occluderMisses = new LongAdder();
+
+    /**
+     * The last occluders of the lights, found in the scene's geometries.
+     * Neighbouring pixels are usually shadowed by the same geometry, so it is tested before the whole scene.
+     */
+    private static class Occluders {
+        /** The geometries the occluders were found in */
+        Geometries geometries = null;
+        /** The last occluder of each light (by its place in the scene's list), null if its last shadow ray wasn't blocked */
+        Geometry[] lights = new Geometry[0];
+    }
 
     //constructor
     public RayTracerBasic(Scene scene) {
@@ -34,7 +61,7 @@ public class RayTracerBasic extends RayTracerBase {
      **/
     @Override
     public Color traceRay(Ray ray) {
-        GeoPoint intersection = findClosestIntersection(ray);
+        GeoPoint intersection = findClosestIntersection(ray, MAX_CALC_COLOR_LEVEL);
         return intersection == null ? scene.background : calcColor(intersection, ray);
     }
 
@@ -56,7 +83,8 @@ public class RayTracerBasic extends RayTracerBase {
      **/
     private Color calcColor(GeoPoint gp, Ray ray, int level, Double3 k) {
         Color color = calcLocalEffects(gp, ray, k);
-        return 1 == level ? color : color.add(calcGlobalEffects(gp, ray, level, k));
+        return 1 == level || gp.geometry.getMaterial().isDiffuseOnly() ? color
+                : color.add(calcGlobalEffects(gp, ray, level, k));
     }
 
     /**
@@ -66,19 +94,30 @@ public class RayTracerBasic extends RayTracerBase {
      * @param gp  the geoPoint.
      * @return the color of a point after adding the local effects.
      **/
-    private Color calcLocalEffects(GeoPoint gp, Ray ray, Double3 k) {
+    protected Color calcLocalEffects(GeoPoint gp, Ray ray, Double3 k) {
         Color color = gp.geometry.getEmission();
         Vector v = ray.getDir();
-        Vector n = gp.geometry.getNormal(gp.point);
+        Vector n = gp.getNormal();
         double nv = alignZero(n.dotProduct(v));
         if (nv == 0) return color;
         Material material = gp.geometry.getMaterial();
+        // no light can affect the color without local effects
+        double localFactor = material.getMaxLocalFactor() * k.max();
+        if (localFactor <= 0) return color;
+
+        // a light attenuated below this part of its intensity can't affect the color, even before shadowing -
+        // just like a light blocked below MIN_CALC_COLOR_K by transparent geometries
+        double minFactor = MIN_CALC_COLOR_K / localFactor;
 
+        Geometry[] lightOccluders = lightOccluders();
+        int light = -1;
         for (LightSource lightSource : scene.lights) {
+            ++light;
+            if (!lightSource.reaches(gp.point, minFactor)) continue;
             Vector l = lightSource.getL(gp.point);
             double nl = alignZero(n.dotProduct(l));
             if (nl * nv > 0) { // sign(nl) == sing(nv)
-                Double3 ktr = transparency(gp, lightSource, l, n);
+                Double3 ktr = transparency(gp, lightSource, l, n, lightOccluders, light);
                 if (!(ktr.product(k).lowerThan(MIN_CALC_COLOR_K))) {
                     Color iL = lightSource.getIntensity(gp.point).scale(ktr);
                     color = color.add(iL.scale(calcDiffusive(material, nl)),
@@ -91,6 +130,7 @@ public class RayTracerBasic extends RayTracerBase {
 
     /**
      * A recursive method to generate reelected and refracted rays and calculate the color effects on a geoPoint.
+     * Only the rays the material can reflect or transmit are generated.
      *
      * @param k     Low cumulative attenuation coefficient value.
      * @param level maximum depth of the recursion.
@@ -99,8 +139,12 @@ public class RayTracerBasic extends RayTracerBase {
      **/
     private Color calcGlobalEffects(GeoPoint gp, Ray ray, int level, Double3 k) {
         Vector v = ray.getDir();
-        Vector n = gp.geometry.getNormal(gp.point);
+        Vector n = gp.getNormal();
         Material material = gp.geometry.getMaterial();
+        if (!material.isTransparent())
+            return calcColorGlobalEffect(constructReflectedRay(gp, v, n), level, k, material.kR);
+        if (!material.isReflective())
+            return calcColorGlobalEffect(constructRefractedRay(gp, v, n), level, k, material.kT);
         return calcColorGlobalEffect(constructReflectedRay(gp, v, n), level, k, material.kR).add(calcColorGlobalEffect(constructRefractedRay(gp, v, n), level, k, material.kT));
     }
 
@@ -112,8 +156,11 @@ public class RayTracerBasic extends RayTracerBase {
      * @param n  the normal.
      * @return the reflected ray.
      **/
-    private Ray constructReflectedRay(GeoPoint gp, Vector v, Vector n) {
-        return new Ray(gp.point, v.subtract(n.scale(v.dotProduct(n)).scale(2)), n);
+    protected Ray constructReflectedRay(GeoPoint gp, Vector v, Vector n) {
+        // r = v - 2(v*n)n
+        double vn = v.dotProduct(n);
+        return new Ray(gp.point, new Vector(v.getX() - n.getX() * vn * 2, v.getY() - n.getY() * vn * 2,
+                v.getZ() - n.getZ() * vn * 2), n);
     }
 
     /**
@@ -124,7 +171,7 @@ public class RayTracerBasic extends RayTracerBase {
      * @param n  the normal.
      * @return the refracted ray.
      **/
-    private Ray constructRefractedRay(GeoPoint gp, Vector v, Vector n) {
+    protected Ray constructRefractedRay(GeoPoint gp, Vector v, Vector n) {
         return new Ray(gp.point, v, n);
     }
 
@@ -140,20 +187,23 @@ public class RayTracerBasic extends RayTracerBase {
     private Color calcColorGlobalEffect(Ray ray, int level, Double3 k, Double3 kx) {
         Double3 kkx = k.product(kx);
         if (kkx.lowerThan(MIN_CALC_COLOR_K)) return Color.BLACK;
-        GeoPoint gp = findClosestIntersection(ray);
+        GeoPoint gp = findClosestIntersection(ray, level - 1);
         if (gp == null) return scene.background.scale(kx);
-        return isZero(gp.geometry.getNormal(gp.point).dotProduct(ray.getDir())) ? Color.BLACK : calcColor(gp, ray, level - 1, kkx).scale(kx);
+        return isZero(gp.getNormal().dotProduct(ray.getDir())) ? Color.BLACK : calcColor(gp, ray, level - 1, kkx).scale(kx);
     }
 
     /**
      * A method to calculate the closest intersection between a ray and an object.
+     * The intersection is written into the thread's record of the recursion level, so the records
+     * of the levels above (which are still in use) are not overwritten.
      *
-     * @param ray the ray.
+     * @param ray   the ray.
+     * @param level the recursion level of the ray.
      * @return the geoPoint closest to the head of the ray.
      **/
-    private GeoPoint findClosestIntersection(Ray ray) {
-        var intersections = scene.geometries.findGeoIntersections(ray);
-        return intersections == null ? null : ray.findClosestGeoPoint(intersections);
+    protected GeoPoint findClosestIntersection(Ray ray, int level) {
+        GeoPoint hit = hits.get()[level].reset(Double.POSITIVE_INFINITY);
+        return scene.geometries.intersect(ray, hit) ? hit : null;
     }
 
 
@@ -177,9 +227,10 @@ public class RayTracerBasic extends RayTracerBase {
      * @param material the objects material.
      **/
     private Double3 calcSpecular(Material material, Vector n, Vector l, double nl, Vector v) {
-        // the reflectance vector
-        Vector r = l.subtract(n.scale(2 * nl));
-        double vr = -v.dotProduct(r);
+        // the reflectance vector r = l - 2(n*l)n, dotted with v on coordinates
+        double s = 2 * nl;
+        double vr = -VectorMath.dot(v.getX(), v.getY(), v.getZ(),
+                l.getX() - n.getX() * s, l.getY() - n.getY() * s, l.getZ() - n.getZ() * s);
         return material.kS.scale((vr > 0) ? Math.pow(vr, material.nShininess) : 0);
     }
 
@@ -199,23 +250,65 @@ public class RayTracerBasic extends RayTracerBase {
     /**
      * A method to calculate the light source effect on a point while considering the
      * objects in between the point and the light-source.
+     * The last occluder of the light is tested first, and only if it doesn't block the shadow ray
+     * the whole scene is searched (and the occluder replaced by the one found, if any).
      *
-     * @param ls       the lightSource object.
-     * @param geoPoint the give pont.
-     * @param l        the light's direction.
-     * @param n        the normal tho the geometry at a specific point.
+     * @param ls        the lightSource object.
+     * @param geoPoint  the give pont.
+     * @param l         the light's direction.
+     * @param n         the normal tho the geometry at a specific point.
+     * @param occluders the thread's last occluders of the lights.
+     * @param light     the place of the light in the scene's list.
      **/
-    private Double3 transparency(GeoPoint geoPoint, LightSource ls, Vector l, Vector n) {
+    private Double3 transparency(GeoPoint geoPoint, LightSource ls, Vector l, Vector n,
+                                 Geometry[] occluders, int light) {
         Vector lightDirection = l.scale(-1);  // from point to light source
         Ray lightRay = new Ray(geoPoint.point, lightDirection, n);
-        List<GeoPoint> intersections = scene.geometries.findGeoIntersections(lightRay, ls.getDistance(lightRay.getP0()));
-        if (intersections == null) return Double3.ONE;
-
-        Double3 ktr = Double3.ONE;
-
-        for (GeoPoint intersection : intersections) {
-            ktr = ktr.product(intersection.geometry.getMaterial().kT);
+        double distance = ls.getDistance(lightRay.getP0());
+        GeoPoint hit = hits.get()[0];
+        Geometry occluder = occluders[light];
+        // an opaque occluder blocks the ray completely, so nothing else in the scene can change the result
+        if (occluder != null && occluder.findTransparency(lightRay, distance, hit) == Double3.ZERO) {
+            occluderHits.increment();
+            return Double3.ZERO;
         }
+        occluderMisses.increment();
+        Double3 ktr = scene.geometries.findTransparency(lightRay, distance, hit);
+        occluders[light] = ktr == Double3.ZERO ? hit.geometry : null;
         return ktr;
     }
+
+    /**
+     * A method to get the thread's last occluders of the scene's lights.
+     * The occluders are forgotten when the scene's geometries are replaced, and added for new lights.
+     *
+     * @return the last occluder of each light.
+     **/
+    private Geometry[] lightOccluders() {
+        Occluders last = occluders.get();
+        if (last.geometries != scene.geometries) {
+            last.geometries = scene.geometries;
+            last.lights = new Geometry[scene.lights.size()];
+        } else if (last.lights.length < scene.lights.size())
+            last.lights = Arrays.copyOf(last.lights, scene.lights.size());
+        return last.lights;
+    }
+
+    /**
+     * Getter to receive the amount of shadow rays which were found blocked by the last occluder of their light.
+     *
+     * @return the amount of hits of the occluders cache.
+     */
+    public long getOccluderHits() {
+        return occluderHits.sum();
+    }
+
+    /**
+     * Getter to receive the amount of shadow rays for which the whole scene was searched.
+     *
+     * @return the amount of misses of the occluders cache.
+     */
+    public long getOccluderMisses() {
+        return occluderMisses.sum();
+    }
 }
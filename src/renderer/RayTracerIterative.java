@@ -0,0 +1,118 @@
+package renderer;
+
+import geometries.Intersectable.GeoPoint;
+import primitives.*;
+import scene.Scene;
+
+import static primitives.Util.isZero;
+
+/**
+ * A ray tracer that follows the reflected and refracted rays from an explicit stack instead of by recursion.<br/>
+ * The color of a ray is the sum of the local effects of all the points on its tree of secondary rays,
+ * each scaled by its throughput - the product of the reflection and transparency factors on the way to it.
+ * So every thread keeps a stack of the secondary rays waiting to be traced, with their throughput and level,
+ * and a branch whose throughput is too low is dropped before its ray is constructed.
+ * The colors are the same as of {@link RayTracerBasic}, up to the rounding of the order of the additions.
+ */
+public class RayTracerIterative extends RayTracerBasic {
+    // the stacks of the secondary rays of every thread
+    private final ThreadLocal<TraceStack> stacks = ThreadLocal.withInitial(TraceStack::new);
+
+    /**
+     * A stack of secondary rays waiting to be traced.
+     * The rays are traced depth first, so the stack holds at most one waiting ray for each level,
+     * besides the two rays of the last traced point.
+     */
+    private static class TraceStack {
+        /** The rays */
+        final Ray[] rays = new Ray[MAX_CALC_COLOR_LEVEL + 1];
+        /** The throughput of each ray - the factor its color is scaled by */
+        final Double3[] throughputs = new Double3[MAX_CALC_COLOR_LEVEL + 1];
+        /** The level of each ray, counting down to 1 like the recursion */
+        final int[] levels = new int[MAX_CALC_COLOR_LEVEL + 1];
+        /** The amount of rays in the stack */
+        int size = 0;
+
+        /**
+         * Push a ray to the stack
+         *
+         * @param ray        the ray
+         * @param throughput the ray's throughput
+         * @param level      the ray's level
+         */
+        void push(Ray ray, Double3 throughput, int level) {
+            rays[size] = ray;
+            throughputs[size] = throughput;
+            levels[size] = level;
+            ++size;
+        }
+    }
+
+    //constructor
+    public RayTracerIterative(Scene scene) {
+        super(scene);
+    }
+
+    @Override
+    public Color traceRay(Ray ray) {
+        GeoPoint gp = findClosestIntersection(ray, MAX_CALC_COLOR_LEVEL);
+        if (gp == null) return scene.background;
+
+        Color color = calcLocalEffects(gp, ray, INITIAL_K).add(scene.ambientLight.getIntensity());
+        double red = color.getRed(), green = color.getGreen(), blue = color.getBlue();
+
+        TraceStack stack = stacks.get();
+        pushSecondaryRays(stack, gp, ray, MAX_CALC_COLOR_LEVEL, INITIAL_K);
+        while (stack.size > 0) {
+            --stack.size;
+            Ray secondary = stack.rays[stack.size];
+            Double3 k = stack.throughputs[stack.size];
+            int level = stack.levels[stack.size];
+            stack.rays[stack.size] = null;
+            stack.throughputs[stack.size] = null;
+
+            GeoPoint hit = findClosestIntersection(secondary, level);
+            if (hit == null)
+                color = scene.background.scale(k);
+            else if (isZero(hit.getNormal().dotProduct(secondary.getDir())))
+                continue;
+            else {
+                color = calcLocalEffects(hit, secondary, k).scale(k);
+                pushSecondaryRays(stack, hit, secondary, level, k);
+            }
+            red += color.getRed();
+            green += color.getGreen();
+            blue += color.getBlue();
+        }
+        return new Color(red, green, blue);
+    }
+
+    /**
+     * A method to push the reflected and refracted rays of a point, unless the point is on the last level,
+     * its material doesn't reflect or transmit light, or the rays' throughput is too low to affect the color.
+     *
+     * @param stack the stack.
+     * @param gp    the point.
+     * @param ray   the ray which intersected the point.
+     * @param level the point's level.
+     * @param k     the point's throughput.
+     */
+    private void pushSecondaryRays(TraceStack stack, GeoPoint gp, Ray ray, int level, Double3 k) {
+        if (level == 1) return;
+        Material material = gp.geometry.getMaterial();
+        if (material.isDiffuseOnly()) return;
+        Vector v = ray.getDir();
+        Vector n = gp.getNormal();
+        // the refracted ray is pushed first, so the reflected one is traced first - as in the recursion
+        if (material.isTransparent()) {
+            Double3 kkt = k.product(material.kT);
+            if (!kkt.lowerThan(MIN_CALC_COLOR_K))
+                stack.push(constructRefractedRay(gp, v, n), kkt, level - 1);
+        }
+        if (material.isReflective()) {
+            Double3 kkr = k.product(material.kR);
+            if (!kkr.lowerThan(MIN_CALC_COLOR_K))
+                stack.push(constructReflectedRay(gp, v, n), kkr, level - 1);
+        }
+    }
+}
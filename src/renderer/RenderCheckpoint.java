@@ -0,0 +1,315 @@
+package renderer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A checkpoint of a render - a file with the pixels of the rendered tiles and a bitmap of the finished tiles,
+ * so a render which was stopped can be resumed by a camera without rendering the finished tiles again
+ * (see {@link Camera#setCheckpoint(RenderCheckpoint)}).<br/>
+ * The file has a header (magic number, width, height and tile size), the bitmap, and the pixels tile by tile,
+ * so the pixels of a rendered tile are written by the thread which rendered it with a single positional write.
+ * The bitmap is only written by a background thread every interval, after the pixels of the tiles it marks
+ * were forced to the disk, so the file never marks a tile whose pixels may be missing.
+ */
+public class RenderCheckpoint implements TileListener, Closeable {
+    /** The magic number of a checkpoint file ("RTCP") */
+    private static final int MAGIC = 0x52544350;
+    /** The size of the header - the magic number, the image's width and height and the tile size */
+    private static final int HEADER = 16;
+
+    /** The file */
+    private final FileChannel channel;
+    /** The image's width */
+    private final int nX;
+    /** The image's height */
+    private final int nY;
+    /** The length of a tile's side in pixels */
+    private final int tileSize;
+    /** The amount of tiles in a row of tiles */
+    private final int tileCols;
+    /** The finished tiles by rows of tiles, a bit for each */
+    private final AtomicLongArray finished;
+    /** The position of the pixels in the file */
+    private final long pixelsOffset;
+    /** The thread writing the bitmap */
+    private final ScheduledExecutorService syncer;
+    /** The error of the last write of the bitmap, null if it succeeded */
+    private volatile IOException syncError = null;
+
+    /**
+     * Constructor to open the checkpoint of a render, or to create it if the file doesn't exist or is empty.
+     * The pixels of the finished tiles of an existing checkpoint are written to the image writer.
+     *
+     * @param file        the checkpoint file.
+     * @param imageWriter the image writer the image is rendered into.
+     * @param tileSize    the camera's tile size.
+     * @param interval    the time between writes of the bitmap.
+     * @param unit        the unit of the interval.
+     * @throws IllegalArgumentException if the image writer keeps an HDR framebuffer, which isn't checkpointed,
+     *                                  or the file isn't a checkpoint of an image of the same size rendered
+     *                                  by the same tile size - it is left as is, and should be deleted
+     *                                  to start the render over.
+     * @throws IllegalStateException    if the file can't be read or written.
+     */
+    public RenderCheckpoint(Path file, ImageWriter imageWriter, int tileSize, long interval, TimeUnit unit) {
+        if (tileSize < 1)
+            throw new IllegalArgumentException("tile size must be positive");
+        if (interval <= 0)
+            throw new IllegalArgumentException("interval must be positive");
+        if (imageWriter.isHdr())
+            throw new IllegalArgumentException("the HDR framebuffer can't be checkpointed");
+        nX = imageWriter.getNx();
+        nY = imageWriter.getNy();
+        this.tileSize = tileSize;
+        tileCols = (nX + tileSize - 1) / tileSize;
+        int tiles = tileCols * ((nY + tileSize - 1) / tileSize);
+        finished = new AtomicLongArray((tiles + 63) / 64);
+        pixelsOffset = HEADER + 8L * finished.length();
+
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - can't open the checkpoint file " + file, e);
+        }
+        try {
+            if (channel.size() > 0)
+                resume(imageWriter, file);
+            else {
+                channel.write(ByteBuffer.allocate(HEADER).putInt(MAGIC).putInt(nX).putInt(nY).putInt(tileSize)
+                        .flip(), 0);
+                // the empty bitmap and the last pixel, so the file has its full length
+                channel.write(ByteBuffer.allocate((int) (pixelsOffset - HEADER)), HEADER);
+                channel.write(ByteBuffer.allocate(4), pixelsOffset + 4L * nX * nY - 4);
+                channel.force(false);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                channel.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            if (e instanceof RuntimeException runtimeError)
+                throw runtimeError;
+            throw new IllegalStateException("I/O error - can't open the checkpoint file " + file, e);
+        }
+
+        syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "render checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (IOException e) {
+                syncError = e;
+            }
+        }, interval, interval, unit);
+    }
+
+    /**
+     * Read the finished tiles of an existing checkpoint of the image into the bitmap and the image writer
+     *
+     * @param imageWriter the image writer.
+     * @param file        the checkpoint file.
+     * @throws IllegalArgumentException if the file isn't a checkpoint of the image with the same tile size.
+     * @throws IOException              if the file can't be read.
+     */
+    private void resume(ImageWriter imageWriter, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        if (channel.size() < HEADER)
+            throw new IllegalArgumentException("not a checkpoint file: " + file);
+        read(header, 0);
+        if (header.getInt() != MAGIC)
+            throw new IllegalArgumentException("not a checkpoint file: " + file);
+        int fileNx = header.getInt(), fileNy = header.getInt(), fileTileSize = header.getInt();
+        if (fileNx != nX || fileNy != nY || fileTileSize != tileSize)
+            throw new IllegalArgumentException(String.format(
+                    "the checkpoint %s is of a %dx%d image by tiles of %d, not of a %dx%d image by tiles of %d",
+                    file, fileNx, fileNy, fileTileSize, nX, nY, tileSize));
+        if (channel.size() != pixelsOffset + 4L * nX * nY)
+            throw new IllegalArgumentException("the checkpoint file is truncated: " + file);
+        ByteBuffer bitmap = ByteBuffer.allocate((int) (pixelsOffset - HEADER));
+        read(bitmap, HEADER);
+        for (int i = 0; i < finished.length(); ++i)
+            finished.set(i, bitmap.getLong());
+
+        for (int row = 0; row < nY; row += tileSize)
+            for (int col = 0; col < nX; col += tileSize) {
+                if (!isFinished(col, row)) continue;
+                int width = Math.min(tileSize, nX - col);
+                int height = Math.min(tileSize, nY - row);
+                ByteBuffer pixels = ByteBuffer.allocate(4 * width * height);
+                read(pixels, tileOffset(col, row, height));
+                int[] rgb = new int[width * height];
+                pixels.asIntBuffer().get(rgb);
+                imageWriter.writeTile(col, row, width, height, rgb);
+            }
+    }
+
+    /**
+     * Read the whole buffer from the file
+     *
+     * @param buffer   the buffer, flipped for reading it after it was filled.
+     * @param position the position in the file.
+     * @throws IOException if the file can't be read, or it ends before the buffer is filled.
+     */
+    private void read(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("unexpected end of the checkpoint file");
+        buffer.flip();
+    }
+
+    /**
+     * The image's width
+     *
+     * @return the amount of horizontal pixels
+     */
+    public int getNx() {
+        return nX;
+    }
+
+    /**
+     * The image's height
+     *
+     * @return the amount of vertical pixels
+     */
+    public int getNy() {
+        return nY;
+    }
+
+    /**
+     * The length of a tile's side in pixels
+     *
+     * @return the tile size
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Check whether a tile is finished
+     *
+     * @param col the column of the tile's top left pixel.
+     * @param row the row of the tile's top left pixel.
+     * @return true if the tile's pixels are in the checkpoint.
+     */
+    public boolean isFinished(int col, int row) {
+        int tile = tileIndex(col, row);
+        return (finished.get(tile >> 6) & 1L << tile) != 0;
+    }
+
+    /**
+     * Check whether all the tiles of the image are finished
+     *
+     * @return true if the whole image is in the checkpoint.
+     */
+    public boolean isComplete() {
+        for (int row = 0; row < nY; row += tileSize)
+            for (int col = 0; col < nX; col += tileSize)
+                if (!isFinished(col, row)) return false;
+        return true;
+    }
+
+    /**
+     * Write the pixels of a rendered tile to the file and mark it as finished.
+     * A tile which was finished before, e.g. a tile skipped by a resumed render, isn't written again.
+     */
+    @Override
+    public void tileRendered(ImageWriter imageWriter, int col, int row, int width, int height) {
+        if (col % tileSize != 0 || row % tileSize != 0 || width != Math.min(tileSize, nX - col)
+                || height != Math.min(tileSize, nY - row))
+            throw new IllegalArgumentException("the tile doesn't match the checkpoint's tiles");
+        if (isFinished(col, row)) return;
+
+        int[] rgb = new int[width * height];
+        imageWriter.readTile(col, row, width, height, rgb);
+        ByteBuffer pixels = ByteBuffer.allocate(4 * rgb.length);
+        pixels.asIntBuffer().put(rgb);
+        long position = tileOffset(col, row, height);
+        try {
+            while (pixels.hasRemaining())
+                channel.write(pixels, position + pixels.position());
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - can't write the checkpoint", e);
+        }
+        // the tile is marked after its pixels were written, so the bitmap written by the syncer covers them
+        int tile = tileIndex(col, row);
+        long bit = 1L << tile;
+        finished.getAndAccumulate(tile >> 6, bit, (bits, b) -> bits | b);
+    }
+
+    /**
+     * Force the pixels of the finished tiles to the disk, and then write the bitmap of these tiles
+     *
+     * @throws IOException if the file can't be written.
+     */
+    private synchronized void sync() throws IOException {
+        ByteBuffer bitmap = ByteBuffer.allocate(8 * finished.length());
+        for (int i = 0; i < finished.length(); ++i)
+            bitmap.putLong(finished.get(i));
+        bitmap.flip();
+        channel.force(false);
+        while (bitmap.hasRemaining())
+            channel.write(bitmap, HEADER + bitmap.position());
+        channel.force(false);
+    }
+
+    /**
+     * Write the bitmap of all the finished tiles and close the file.
+     *
+     * @throws IllegalStateException if the file couldn't be written.
+     */
+    @Override
+    public void close() {
+        // the periodic write is cancelled, and a running one is completed rather than interrupted,
+        // since an interrupt during its I/O would close the file
+        syncer.shutdown();
+        try {
+            syncer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try (channel) {
+            sync();
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - can't write the checkpoint", e);
+        }
+        if (syncError != null)
+            throw new IllegalStateException("I/O error - can't write the checkpoint", syncError);
+    }
+
+    /**
+     * The index of a tile in the bitmap
+     *
+     * @param col the column of the tile's top left pixel.
+     * @param row the row of the tile's top left pixel.
+     * @return the index.
+     */
+    private int tileIndex(int col, int row) {
+        return row / tileSize * tileCols + col / tileSize;
+    }
+
+    /**
+     * The position of a tile's pixels in the file - the pixels of the tiles before it are stored before them
+     *
+     * @param col    the column of the tile's top left pixel.
+     * @param row    the row of the tile's top left pixel.
+     * @param height the amount of rows in the tile.
+     * @return the position.
+     */
+    private long tileOffset(int col, int row, int height) {
+        return pixelsOffset + 4L * ((long) row * nX + (long) col * height);
+    }
+}
@@ -0,0 +1,78 @@
+package renderer;
+
+import primitives.Color;
+import primitives.Point;
+
+/**
+ * SampleCache is a helper class for the adaptive super sampling of a pixel.<br/>
+ * The samples of a pixel lie on a square grid, and the squares of the recursion share their corners and edges'
+ * middles, so the color of every grid point is kept by its integer coordinates and is traced only once.
+ * A cache is used by a single thread, and is reused for all the pixels of a tile.
+ */
+class SampleCache {
+    /** The top left point of the sampled square */
+    Point leftTop;
+    /** The point all the sample rays are cast to */
+    Point target;
+    /** The width of a grid square */
+    double cellWidth;
+    /** The height of a grid square */
+    double cellHeight;
+    /** The amount of grid squares on each side of the sampled square */
+    int cells;
+
+    /** The colors of the grid points, by row */
+    private Color[] colors = new Color[0];
+    /** The generation in which each color was stored, older colors belong to previous samplings */
+    private int[] generations = new int[0];
+    /** The generation of the current sampling */
+    private int generation = 0;
+
+    /**
+     * Start sampling a new square, forgetting the colors of the previous one
+     *
+     * @param leftTop the top left point of the square
+     * @param target  the point all the sample rays are cast to
+     * @param width   the square's width
+     * @param height  the square's height
+     * @param cells   the amount of grid squares on each side
+     */
+    void reset(Point leftTop, Point target, double width, double height, int cells) {
+        this.leftTop = leftTop;
+        this.target = target;
+        this.cells = cells;
+        cellWidth = width / cells;
+        cellHeight = height / cells;
+
+        int size = (cells + 1) * (cells + 1);
+        if (colors.length < size) {
+            colors = new Color[size];
+            generations = new int[size];
+            generation = 0;
+        }
+        ++generation;
+    }
+
+    /**
+     * @param x the grid point's column
+     * @param y the grid point's row (growing downwards)
+     * @return the color of the grid point, or null if it wasn't traced yet
+     */
+    Color get(int x, int y) {
+        int index = y * (cells + 1) + x;
+        return generations[index] == generation ? colors[index] : null;
+    }
+
+    /**
+     * Store the color of a grid point
+     *
+     * @param x     the grid point's column
+     * @param y     the grid point's row (growing downwards)
+     * @param color the traced color
+     */
+    void put(int x, int y, Color color) {
+        int index = y * (cells + 1) + x;
+        colors[index] = color;
+        generations[index] = generation;
+    }
+}
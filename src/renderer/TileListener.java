@@ -0,0 +1,20 @@
+package renderer;
+
+/**
+ * A listener that is notified whenever a tile of the image was rendered,
+ * e.g. in order to stream the finished parts of the image to a file or to a preview.
+ * The listener may be called concurrently by several threads, for different tiles.
+ */
+@FunctionalInterface
+public interface TileListener {
+    /**
+     * A method called after all the pixels of a tile were written to the image writer.
+     *
+     * @param imageWriter the image writer holding the rendered pixels.
+     * @param col         the column of the tile's top left pixel.
+     * @param row         the row of the tile's top left pixel.
+     * @param width       the amount of columns in the tile.
+     * @param height      the amount of rows in the tile.
+     */
+    void tileRendered(ImageWriter imageWriter, int col, int row, int width, int height);
+}
@@ -0,0 +1,141 @@
+package renderer;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TileManager is a helper class for multi-threaded rendering and for following up its progress.<br/>
+ * The image is divided into square tiles, which are ordered along a Morton (Z-order) curve,
+ * so tiles that are close in the order are also close in the image. Threads take continuous
+ * ranges of tiles and the adjacent pixels of a tile are rendered by the same thread.
+ * The progress is counted without locks.
+ */
+class TileManager {
+    /**
+     * Immutable class for a tile of the image - a rectangle of pixels
+     *
+     * @param col    the column of the tile's top left pixel
+     * @param row    the row of the tile's top left pixel
+     * @param width  the amount of columns in the tile
+     * @param height the amount of rows in the tile
+     */
+    record Tile(int col, int row, int width, int height) {
+        /**
+         * @return the amount of pixels in the tile
+         */
+        int size() {
+            return width * height;
+        }
+    }
+
+    /** The tiles of the image in their rendering order */
+    private final Tile[] tiles;
+    /** Total amount of pixels in the generated image */
+    private final long totalPixels;
+
+    /** Amount of pixels that have been processed */
+    private final AtomicLong pixels = new AtomicLong(0);
+    /** Last printed progress update (in tenths of percentage) */
+    private final AtomicInteger lastPrinted = new AtomicInteger(0);
+
+    /** Flag of debug printing of progress percentage */
+    private final boolean print;
+    /** Progress printing interval (in tenths of percentage) */
+    private final int printInterval;
+    /** Printing format */
+    private static final String PRINT_FORMAT = "%5.1f%%\n";
+
+    /**
+     * Initialize tile manager data for multi-threading
+     *
+     * @param maxRows  the amount of pixel rows
+     * @param maxCols  the amount of pixel columns
+     * @param tileSize the length of a tile's side in pixels
+     * @param interval print interval in percents, 0 if printing is not required
+     */
+    TileManager(int maxRows, int maxCols, int tileSize, double interval) {
+        if (tileSize < 1) throw new IllegalArgumentException("tile size must be positive");
+        totalPixels = (long) maxRows * maxCols;
+        printInterval = (int) (interval * 10);
+        print = printInterval != 0;
+
+        int tileRows = (maxRows + tileSize - 1) / tileSize;
+        int tileCols = (maxCols + tileSize - 1) / tileSize;
+        tiles = new Tile[tileRows * tileCols];
+        int i = 0;
+        for (int r = 0; r < tileRows; ++r)
+            for (int c = 0; c < tileCols; ++c) {
+                int col = c * tileSize;
+                int row = r * tileSize;
+                tiles[i++] = new Tile(col, row, Math.min(tileSize, maxCols - col), Math.min(tileSize, maxRows - row));
+            }
+        Arrays.sort(tiles, Comparator.comparingLong(t -> mortonCode(t.col() / tileSize, t.row() / tileSize)));
+
+        if (print) System.out.printf(PRINT_FORMAT, 0d);
+    }
+
+    /**
+     * A method to interleave the bits of the tile's coordinates into its position on the Morton curve.
+     *
+     * @param x the tile's column index
+     * @param y the tile's row index
+     * @return the Morton code of the tile
+     */
+    static long mortonCode(int x, int y) {
+        return spreadBits(x) | (spreadBits(y) << 1);
+    }
+
+    /**
+     * A method to spread the bits of a number so there is a zero bit between every two of its bits.
+     *
+     * @param n the number
+     * @return the spread number
+     */
+    private static long spreadBits(int n) {
+        long x = n & 0xFFFFFFFFL;
+        x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+        x = (x | (x << 8)) & 0x00FF00FF00FF00FFL;
+        x = (x | (x << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | (x << 2)) & 0x3333333333333333L;
+        x = (x | (x << 1)) & 0x5555555555555555L;
+        return x;
+    }
+
+    /**
+     * @return the amount of tiles
+     */
+    int tilesCount() {
+        return tiles.length;
+    }
+
+    /**
+     * @param index the tile's position in the rendering order
+     * @return the tile
+     */
+    Tile getTile(int index) {
+        return tiles[index];
+    }
+
+    /**
+     * Finish tile processing by updating and printing of progress percentage.
+     * The function is called concurrently by all the threads, and uses no locks.
+     *
+     * @param tile the finished tile
+     */
+    void tileDone(Tile tile) {
+        long done = pixels.addAndGet(tile.size());
+        if (!print) return;
+        int percentage = (int) (1000L * done / totalPixels);
+        int last = lastPrinted.get();
+        // only the thread which advances the last printed value prints it
+        while (percentage - last >= printInterval) {
+            if (lastPrinted.compareAndSet(last, percentage)) {
+                System.out.printf(PRINT_FORMAT, percentage / 10d);
+                return;
+            }
+            last = lastPrinted.get();
+        }
+    }
+}
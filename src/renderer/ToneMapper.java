@@ -0,0 +1,76 @@
+package renderer;
+
+/**
+ * A tone mapping operator - maps the linear radiance of a pixel, without an upper limit,
+ * to the 0..255 components of the written image.
+ * The operators are applied by {@link ImageWriter#writeToImage()} to the writer's HDR framebuffer,
+ * so an image can be re-graded without rendering it again.
+ */
+@FunctionalInterface
+public interface ToneMapper {
+    /**
+     * Clamps every component to 255, like {@link primitives.Color#getColor()}
+     */
+    ToneMapper CLAMP = ToneMapper::pack;
+
+    /**
+     * A method to map the radiance of a pixel to its color in the image.
+     *
+     * @param red   the red radiance.
+     * @param green the green radiance.
+     * @param blue  the blue radiance.
+     * @return the color packed like {@link primitives.Color#getRGB()}.
+     */
+    int map(float red, float green, float blue);
+
+    /**
+     * An operator scaling the radiance by an exposure before clamping it.
+     *
+     * @param stops the exposure in stops - every stop doubles the radiance.
+     * @return the operator.
+     */
+    static ToneMapper exposure(double stops) {
+        float scale = (float) Math.pow(2, stops);
+        return (red, green, blue) -> pack(red * scale, green * scale, blue * scale);
+    }
+
+    /**
+     * The extended Reinhard operator, which compresses the radiance smoothly instead of clamping it,
+     * applied to every component.
+     *
+     * @param white the radiance mapped to 255, the higher radiance is clamped.
+     * @return the operator.
+     */
+    static ToneMapper reinhard(double white) {
+        float w = (float) (white / 255);
+        float w2 = w * w;
+        return (red, green, blue) -> pack(reinhard(red / 255, w2) * 255, reinhard(green / 255, w2) * 255,
+                reinhard(blue / 255, w2) * 255);
+    }
+
+    /**
+     * The extended Reinhard curve of a component, x (1 + x / w^2) / (1 + x)
+     *
+     * @param x  the component, 1 for the radiance of 255.
+     * @param w2 the square of the white radiance.
+     * @return the mapped component.
+     */
+    private static float reinhard(float x, float w2) {
+        return x * (1 + x / w2) / (1 + x);
+    }
+
+    /**
+     * Pack the components of a color, truncated and clamped to 0..255 like {@link primitives.Color#getRGB()}.
+     *
+     * @param red   the red component.
+     * @param green the green component.
+     * @param blue  the blue component.
+     * @return the packed color.
+     */
+    private static int pack(float red, float green, float blue) {
+        int ir = (int) red;
+        int ig = (int) green;
+        int ib = (int) blue;
+        return 0xFF000000 | (ir > 255 ? 255 : ir) << 16 | (ig > 255 ? 255 : ig) << 8 | (ib > 255 ? 255 : ib);
+    }
+}
@@ -0,0 +1,81 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for geometries.BoundingBox class
+ *
+ * @author Uriel Dolev
+ */
+class BoundingBoxTest {
+
+    /**
+     * Test method for {@link geometries.BoundingBox#intersect(Ray, double)}.
+     */
+    @Test
+    void testIntersect() {
+        BoundingBox box = new BoundingBox(-1, -1, -1, 1, 1, 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray starts outside the box and crosses it
+        assertEquals(4, box.intersect(new Ray(new Point(-5, 0, 0), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY),
+                0.00001, "Wrong distance to the box");
+        // TC02: the ray starts inside the box
+        assertEquals(0, box.intersect(new Ray(new Point(0.5, 0, 0), new Vector(1, 1, 1)), Double.POSITIVE_INFINITY),
+                0.00001, "Wrong distance to the box");
+        // TC03: the ray misses the box
+        assertFalse(box.intersects(new Ray(new Point(-5, 3, 0), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY),
+                "ray missing the box intersects it");
+        // TC04: the box is behind the ray
+        assertFalse(box.intersects(new Ray(new Point(-5, 0, 0), new Vector(-1, 0, 0)), Double.POSITIVE_INFINITY),
+                "box behind the ray intersects it");
+        // TC05: the box is farther than the maximum distance
+        assertFalse(box.intersects(new Ray(new Point(-5, 0, 0), new Vector(1, 0, 0)), 3),
+                "box beyond the maximum distance intersects the ray");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the ray is parallel to two of the slabs (zero direction coordinates)
+        assertEquals(4, box.intersect(new Ray(new Point(-5, 0.5, -0.5), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY),
+                0.00001, "Wrong distance to the box");
+        assertFalse(box.intersects(new Ray(new Point(-5, 1.5, 0), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY),
+                "ray parallel to the box's face outside of it intersects it");
+        // TC12: a flat box (of an axis aligned polygon)
+        BoundingBox flat = new BoundingBox(new Point(0, 0, -2), new Point(2, 0, -2), new Point(0, 2, -2));
+        assertEquals(2, flat.intersect(new Ray(new Point(1, 1, 0), new Vector(0, 0, -1)), Double.POSITIVE_INFINITY),
+                0.00001, "Wrong distance to a flat box");
+        // TC13: every ray passes through the infinite box
+        assertTrue(BoundingBox.INFINITE.intersects(new Ray(new Point(1, 2, 3), new Vector(0, 0, 1)), 1),
+                "ray doesn't intersect the infinite box");
+    }
+
+    /**
+     * Test method for {@link geometries.Intersectable#getBoundingBox()}.
+     */
+    @Test
+    void testGetBoundingBox() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a sphere's box
+        BoundingBox box = new Sphere(2, new Point(1, 1, 1)).getBoundingBox();
+        assertEquals(-1, box.getMin(0), 0.00001, "Wrong sphere's bounding box");
+        assertEquals(3, box.getMax(2), 0.00001, "Wrong sphere's bounding box");
+        // TC02: a cylinder standing on the xy plane
+        box = new Cylinder(1, new Ray(Point.ZERO, new Vector(0, 0, 1)), 5).getBoundingBox();
+        assertEquals(-1, box.getMin(1), 0.00001, "Wrong cylinder's bounding box");
+        assertEquals(5, box.getMax(2), 0.00001, "Wrong cylinder's bounding box");
+        // TC03: a collection is bounded by the union of its members
+        box = new Geometries(new Sphere(1, Point.ZERO), new Sphere(1, new Point(5, 0, 0))).getBoundingBox();
+        assertEquals(6, box.getMax(0), 0.00001, "Wrong collection's bounding box");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a plane is unbounded, and so is a collection containing it
+        assertSame(BoundingBox.INFINITE, new Plane(Point.ZERO, new Vector(0, 0, 1)).getBoundingBox(),
+                "plane is bounded");
+        assertTrue(new Geometries(new Sphere(1, Point.ZERO), new Plane(Point.ZERO, new Vector(0, 0, 1)))
+                .getBoundingBox().isInfinite(), "collection with a plane is bounded");
+    }
+}
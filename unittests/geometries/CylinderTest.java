@@ -91,6 +91,82 @@ class CylinderTest {
      */
     @Test
     void testFindIntersections() {
+        Cylinder cylinder = new Cylinder(1, new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 2);
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Ray crosses the cylinder's side twice (2 points)
+        List<Point> result = cylinder.findIntersections(new Ray(new Point(2, 0, 1), new Vector(-1, 0, 0)));
+        assertEquals(2, result.size(), "Wrong number of points");
+        if (result.get(0).getX() < result.get(1).getX())
+            result = List.of(result.get(1), result.get(0));
+        assertEquals(List.of(new Point(1, 0, 1), new Point(-1, 0, 1)), result, "Ray crosses the cylinder's side");
+        // TC02: Ray crosses the bottom base and the side (2 points)
+        result = cylinder.findIntersections(new Ray(new Point(0, 0, -1), new Vector(0.5, 0, 1)));
+        assertEquals(2, result.size(), "Wrong number of points");
+        if (result.get(0).getZ() > result.get(1).getZ())
+            result = List.of(result.get(1), result.get(0));
+        assertEquals(List.of(new Point(0.5, 0, 0), new Point(1, 0, 1)), result, "Ray crosses a base and the side");
+        // TC03: Ray crosses both bases (2 points)
+        result = cylinder.findIntersections(new Ray(new Point(0.5, 0, -1), new Vector(0, 0, 1)));
+        assertEquals(2, result.size(), "Wrong number of points");
+        if (result.get(0).getZ() > result.get(1).getZ())
+            result = List.of(result.get(1), result.get(0));
+        assertEquals(List.of(new Point(0.5, 0, 0), new Point(0.5, 0, 2)), result, "Ray crosses both bases");
+        // TC04: Ray crosses the tube above the cylinder (0 points)
+        assertNull(cylinder.findIntersections(new Ray(new Point(2, 0, 3), new Vector(-1, 0, 0))),
+                "Ray passes above the cylinder");
+        // TC05: Ray starts inside the cylinder (1 point)
+        assertEquals(List.of(new Point(1, 0, 1)),
+                cylinder.findIntersections(new Ray(new Point(0, 0, 1), new Vector(1, 0, 0))), "Ray starts in cylinder");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Ray is on the side's surface, parallel to the axis (0 points)
+        assertNull(cylinder.findIntersections(new Ray(new Point(1, 0, -1), new Vector(0, 0, 1))),
+                "Ray on the cylinder's side");
+        // TC12: Ray is in the upper base's plane (0 points)
+        assertNull(cylinder.findIntersections(new Ray(new Point(2, 0, 2), new Vector(-1, 0, 0))),
+                "Ray in the upper base's plane");
+    }
+
+    /**
+     * Test method for {@link geometries.Cylinder#findGeoIntersections(Ray, double)}.
+     */
+    @Test
+    void testFindGeoIntersections() {
+        Cylinder cylinder = new Cylinder(1, new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 2);
+        Ray ray = new Ray(new Point(0.5, 0, -1), new Vector(0, 0, 1));
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: only the bottom base is in range (1 point)
+        assertEquals(List.of(new Intersectable.GeoPoint(cylinder, new Point(0.5, 0, 0))),
+                cylinder.findGeoIntersections(ray, 2), "Wrong intersections in range");
+        // TC02: no intersection is in range (0 points)
+        assertNull(cylinder.findGeoIntersections(ray, 0.5), "Intersections out of range");
+        // =============== Boundary Values Tests ==================
+        // TC11: the upper base is exactly on the maximum distance (2 points)
+        assertEquals(2, cylinder.findGeoIntersections(ray, 3).size(), "Intersection on the maximum distance");
+    }
+
+    /**
+     * Test method for {@link geometries.Intersectable#intersect(Ray, Intersectable.GeoPoint)}.
+     */
+    @Test
+    void testIntersect() {
+        Cylinder cylinder = new Cylinder(1, new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 2);
+        Intersectable.GeoPoint hit = new Intersectable.GeoPoint();
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the closest intersection is on a base, with the base's normal
+        assertTrue(cylinder.intersect(new Ray(new Point(0.5, 0, -1), new Vector(0, 0, 1)), hit), "Ray crosses the cylinder");
+        assertEquals(1, hit.distance, 0.00001, "Wrong distance");
+        assertEquals(new Point(0.5, 0, 0), hit.point, "Wrong intersection point");
+        assertThrows(IllegalArgumentException.class, () -> hit.getNormal().crossProduct(new Vector(0, 0, 1)),
+                "Base's normal is not parallel to the axis");
+        // TC02: the closest intersection is on the side
+        assertTrue(cylinder.intersect(new Ray(new Point(2, 0, 1), new Vector(-1, 0, 0)), hit.reset(Double.POSITIVE_INFINITY)),
+                "Ray crosses the cylinder's side");
+        assertEquals(new Point(1, 0, 1), hit.point, "Wrong intersection point");
+        assertEquals(new Vector(1, 0, 0), hit.getNormal(), "Wrong side normal");
+        // TC03: a closer intersection was already found
+        assertFalse(cylinder.intersect(new Ray(new Point(2, 0, 1), new Vector(-1, 0, 0)), hit.reset(0.5)),
+                "Cylinder beyond the closest intersection");
     }
 
 }
\ No newline at end of file
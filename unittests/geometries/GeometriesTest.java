@@ -1,6 +1,8 @@
 package geometries;
 
 import org.junit.jupiter.api.Test;
+import primitives.Double3;
+import primitives.Material;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -83,4 +85,128 @@ class GeometriesTest {
         result = geometries.findGeoIntersections(new Ray(p, new Vector(-2, -0.5, 0)), 6.72);
         assertEquals(2, result.size(), "Wrong number of intersections");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Geometries#buildBvh()}.
+     */
+    @Test
+    void testBuildBvh() {
+        Geometries flat = new Geometries();
+        Geometries bvh = new Geometries();
+        for (int i = 0; i < 10; ++i)
+            for (int j = 0; j < 10; ++j) {
+                Sphere sphere = new Sphere(1, new Point(i * 3, j * 3, 0));
+                flat.add(sphere);
+                bvh.add(sphere);
+            }
+        Plane plane = new Plane(new Point(0, 0, -5), new Vector(0, 0, 1));
+        flat.add(plane);
+        bvh.add(plane);
+        bvh.buildBvh();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray crosses a row of spheres and the plane
+        Ray ray = new Ray(new Point(-5, 0, 0.5), new Vector(1, 0, -0.01));
+        assertEquals(flat.findGeoIntersections(ray).size(), bvh.findGeoIntersections(ray).size(),
+                "Wrong number of intersections");
+        // TC02: the ray crosses a single sphere and the plane
+        ray = new Ray(new Point(3, 3, 10), new Vector(0, 0, -1));
+        assertEquals(3, bvh.findGeoIntersections(ray).size(), "Wrong number of intersections");
+        // TC03: the ray crosses a single sphere before the maximum distance
+        assertEquals(2, bvh.findGeoIntersections(ray, 12).size(), "Wrong number of intersections");
+        // TC04: the ray misses all the geometries
+        assertNull(bvh.findGeoIntersections(new Ray(new Point(3, 3, 10), new Vector(0, 0, 1))),
+                "ray going away from all the geometries gives intersection points");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the ray passes between the spheres and only hits the plane
+        ray = new Ray(new Point(1.5, 1.5, 10), new Vector(0, 0, -1));
+        assertEquals(1, bvh.findGeoIntersections(ray).size(), "Wrong number of intersections");
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#findTransparency(Ray, double)}.
+     */
+    @Test
+    void testFindTransparency() {
+        Sphere glass = (Sphere) new Sphere(1, new Point(0, 0, -3)).setMaterial(new Material().setKt(0.5));
+        Sphere stone = new Sphere(1, new Point(0, 0, -6));
+        Geometries geometries = new Geometries(glass, stone);
+        Ray ray = new Ray(Point.ZERO, new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray crosses only the transparent sphere (twice) before the maximum distance
+        assertEquals(new Double3(0.25), geometries.findTransparency(ray, 4.5), "Wrong transparency");
+        // TC02: the ray is blocked by the opaque sphere
+        assertEquals(Double3.ZERO, geometries.findTransparency(ray, 10), "Wrong transparency");
+        // TC03: nothing blocks the ray
+        assertEquals(Double3.ONE, geometries.findTransparency(new Ray(Point.ZERO, new Vector(0, 0, 1)), 10),
+                "Wrong transparency");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the maximum distance ends inside the transparent sphere
+        assertEquals(new Double3(0.5), geometries.findTransparency(ray, 3), "Wrong transparency");
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#findClosestGeoIntersection(Ray, double)}.
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        Sphere near = new Sphere(1, new Point(0, 0, -3));
+        Sphere far = new Sphere(1, new Point(0, 0, -6));
+        Plane plane = new Plane(new Point(0, 0, -10), new Vector(0, 0, 1));
+        // the far geometries are first, so the closest one is found last
+        Geometries geometries = new Geometries(plane, far, near);
+        Ray ray = new Ray(Point.ZERO, new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the closest of several intersected geometries
+        Intersectable.GeoPoint closest = geometries.findClosestGeoIntersection(ray);
+        assertEquals(near, closest.geometry, "Wrong closest geometry");
+        assertEquals(new Point(0, 0, -2), closest.point, "Wrong closest point");
+        assertEquals(2, closest.distance, 0.00001, "Wrong distance of the closest point");
+        // TC02: no geometry is intersected
+        assertNull(geometries.findClosestGeoIntersection(new Ray(Point.ZERO, new Vector(0, 0, 1))),
+                "ray going away from all the geometries gives a closest point");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the ray starts inside the near sphere, its far side is the closest point
+        closest = geometries.findClosestGeoIntersection(new Ray(new Point(0, 0, -3), new Vector(0, 0, -1)));
+        assertEquals(new Point(0, 0, -4), closest.point, "Wrong closest point");
+        // TC12: all the intersections are beyond the maximum distance
+        assertNull(geometries.findClosestGeoIntersection(ray, 1.5), "intersection beyond the maximum distance");
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#intersect(Ray, Intersectable.GeoPoint)}.
+     */
+    @Test
+    void testIntersect() {
+        Sphere sphere = new Sphere(1, new Point(0, 0, -3));
+        Triangle triangle = new Triangle(new Point(-1, -1, -6), new Point(2, -1, -6), new Point(-1, 2, -6));
+        Plane plane = new Plane(new Point(0, 0, -10), new Vector(0, 0, 1));
+        Geometries geometries = new Geometries(plane, triangle, sphere);
+        Intersectable.GeoPoint hit = new Intersectable.GeoPoint();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the record is filled with the closest intersection
+        assertTrue(geometries.intersect(new Ray(Point.ZERO, new Vector(0, 0, -1)), hit.reset(Double.POSITIVE_INFINITY)),
+                "intersection not found");
+        assertEquals(sphere, hit.geometry, "Wrong closest geometry");
+        assertEquals(new Point(0, 0, -2), hit.point, "Wrong closest point");
+        assertEquals(new Vector(0, 0, 1), hit.getNormal(), "Wrong normal in the closest point");
+        // TC02: the same record is reused for another ray, which only passes through the triangle and the plane
+        assertTrue(geometries.intersect(new Ray(new Point(0.9, -0.5, 0), new Vector(0, 0, -1)),
+                hit.reset(Double.POSITIVE_INFINITY)), "intersection not found");
+        assertEquals(triangle, hit.geometry, "Wrong closest geometry");
+        assertEquals(6, hit.distance, 0.00001, "Wrong distance of the closest point");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the record's distance limits the search, and the record is unchanged when nothing is found
+        hit.reset(5);
+        assertFalse(geometries.intersect(new Ray(new Point(0.9, -0.5, 0), new Vector(0, 0, -1)), hit),
+                "intersection found beyond the record's distance");
+        assertNull(hit.geometry, "record changed although no intersection was found");
+    }
+}
@@ -0,0 +1,160 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for geometries.Mesh class
+ *
+ * @author Uriel Dolev
+ */
+class MeshTest {
+    // a unit square on the xy plane, made of two faces
+    private final Mesh square = new Mesh(new double[]{0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0}, new int[]{0, 1, 2, 0, 2, 3});
+
+    /**
+     * A method to create a wavy grid of n x n squares (2n² faces), as a mesh and as separate triangles.
+     */
+    private static Intersectable[] createGrid(int n) {
+        double[] vertices = new double[3 * (n + 1) * (n + 1)];
+        for (int i = 0; i <= n; ++i)
+            for (int j = 0; j <= n; ++j) {
+                int vertex = 3 * (i * (n + 1) + j);
+                vertices[vertex] = j;
+                vertices[vertex + 1] = i;
+                vertices[vertex + 2] = Math.sin(i) * Math.cos(j);
+            }
+        int[] indices = new int[6 * n * n];
+        Geometries triangles = new Geometries();
+        int k = 0;
+        for (int i = 0; i < n; ++i)
+            for (int j = 0; j < n; ++j) {
+                int a = i * (n + 1) + j, b = a + 1, c = a + n + 2, d = a + n + 1;
+                for (int vertex : new int[]{a, b, c, a, c, d})
+                    indices[k++] = vertex;
+                triangles.add(new Triangle(point(vertices, a), point(vertices, b), point(vertices, c)),
+                        new Triangle(point(vertices, a), point(vertices, c), point(vertices, d)));
+            }
+        return new Intersectable[]{new Mesh(vertices, indices), triangles};
+    }
+
+    private static Point point(double[] vertices, int vertex) {
+        return new Point(vertices[3 * vertex], vertices[3 * vertex + 1], vertices[3 * vertex + 2]);
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#Mesh(double[], int[])}.
+     */
+    @Test
+    void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: correct mesh
+        assertEquals(2, square.getFacesCount(), "Wrong amount of faces");
+        // TC02: a face refers to a vertex that doesn't exist
+        assertThrows(IllegalArgumentException.class,
+                () -> new Mesh(new double[]{0, 0, 0, 1, 0, 0, 1, 1, 0}, new int[]{0, 1, 3}),
+                "Constructed a mesh with a missing vertex");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a mesh without faces
+        assertThrows(IllegalArgumentException.class, () -> new Mesh(new double[]{0, 0, 0}, new int[0]),
+                "Constructed a mesh without faces");
+        // TC12: a partial vertex
+        assertThrows(IllegalArgumentException.class, () -> new Mesh(new double[]{0, 0, 0, 1}, new int[]{0, 0, 0}),
+                "Constructed a mesh with a partial vertex");
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#getNormal(primitives.Point)}.
+     */
+    @Test
+    void testGetNormal() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a point on one of the faces
+        assertEquals(new Vector(0, 0, 1), square.getNormal(new Point(0.7, 0.2, 0)), "Wrong mesh normal");
+        // TC02: a point outside the mesh
+        assertThrows(IllegalArgumentException.class, () -> square.getNormal(new Point(2, 2, 0)),
+                "Found a normal for a point outside the mesh");
+        // TC03: points on the faces of a large mesh - the same normal as of the intersection there
+        Mesh mesh = (Mesh) createGrid(12)[0];
+        for (int i = 1; i <= 50; ++i) {
+            Ray ray = new Ray(new Point(6 + 5.5 * Math.sin(i), 6 + 5.5 * Math.cos(1.7 * i), 5), new Vector(0, 0, -1));
+            Intersectable.GeoPoint hit = mesh.findGeoIntersections(ray).get(0);
+            assertEquals(hit.getNormal(), mesh.getNormal(hit.point), "Wrong normal of point " + i);
+        }
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#findGeoIntersectionsHelper(Ray, double)}.
+     */
+    @Test
+    void testFindGeoIntersections() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray crosses one of the faces
+        List<Intersectable.GeoPoint> result = square.findGeoIntersections(new Ray(new Point(0.7, 0.2, 1), new Vector(0, 0, -1)));
+        assertEquals(1, result.size(), "Wrong number of points");
+        assertEquals(new Point(0.7, 0.2, 0), result.get(0).point, "Wrong intersection point");
+        assertEquals(new Vector(0, 0, 1), result.get(0).getNormal(), "Wrong intersection normal");
+        // TC02: the ray misses the mesh
+        assertNull(square.findGeoIntersections(new Ray(new Point(2, 2, 1), new Vector(0, 0, -1))),
+                "Ray outside the mesh intersects it");
+        // TC03: the mesh is beyond the maximum distance
+        assertNull(square.findGeoIntersections(new Ray(new Point(0.7, 0.2, 1), new Vector(0, 0, -1)), 0.5),
+                "Intersection beyond the maximum distance");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the ray crosses the edge shared by the two faces - only one of them is intersected
+        assertEquals(1, square.findGeoIntersections(new Ray(new Point(0.5, 0.5, 1), new Vector(0, 0, -1))).size(),
+                "Ray crossing the mesh on an edge doesn't intersect exactly one face");
+        // TC12: the intersection is at the maximum distance
+        assertEquals(1, square.findGeoIntersections(new Ray(new Point(0.7, 0.2, 1), new Vector(0, 0, -1)), 1).size(),
+                "Intersection at the maximum distance is missing");
+    }
+
+    /**
+     * Test method for {@link geometries.Intersectable#intersect(Ray, Intersectable.GeoPoint)}.
+     */
+    @Test
+    void testIntersect() {
+        Intersectable[] grid = createGrid(12);
+        Mesh mesh = (Mesh) grid[0];
+        Intersectable triangles = grid[1];
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the closest intersection is the same as the closest of the separate triangles
+        for (int i = 0; i < 200; ++i) {
+            Point head = new Point(6 + 8 * Math.sin(i), 6 + 8 * Math.cos(1.3 * i), 3 + Math.sin(0.7 * i));
+            Vector direction = new Vector(Math.cos(i), Math.sin(2.1 * i), -1 - Math.abs(Math.sin(i)));
+            Ray ray = new Ray(head, direction);
+            Intersectable.GeoPoint expected = triangles.findClosestGeoIntersection(ray);
+            Intersectable.GeoPoint hit = new Intersectable.GeoPoint();
+            assertEquals(expected != null, mesh.intersect(ray, hit), "Wrong intersection of ray " + i);
+            if (expected == null) continue;
+            assertEquals(expected.distance, hit.distance, 0.00001, "Wrong closest intersection of ray " + i);
+            assertEquals(expected.getNormal(), hit.getNormal(), "Wrong normal of ray " + i);
+            // the barycentric coordinates are inside the face
+            assertTrue(hit.u > 0 && hit.v > 0 && hit.u + hit.v < 1, "Wrong barycentric coordinates of ray " + i);
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the ray starts between the mesh's faces and goes along the plane - no intersection
+        assertFalse(square.intersect(new Ray(new Point(-1, 0.3, 0), new Vector(1, 0, 0)), new Intersectable.GeoPoint()),
+                "Ray on the mesh's plane intersects it");
+        // TC12: vertical rays crossing the internal edges and vertices of the wavy grid - exactly one face
+        for (int i = 1; i < 12; ++i)
+            for (int j = 1; j < 12; ++j)
+                for (double[] offset : new double[][]{{0, 0}, {0.5, 0}, {0, 0.5}, {0.5, 0.5}}) {
+                    Ray ray = new Ray(new Point(j + offset[0], i + offset[1], 5), new Vector(0, 0, -1));
+                    List<Intersectable.GeoPoint> intersections = mesh.findGeoIntersections(ray);
+                    assertTrue(intersections != null && intersections.size() == 1,
+                            "Ray through an edge or a vertex doesn't intersect exactly one face");
+                    assertTrue(mesh.intersect(ray, new Intersectable.GeoPoint()), "Ray through an edge misses the mesh");
+                }
+    }
+}
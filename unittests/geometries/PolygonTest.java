@@ -99,6 +99,14 @@ public class PolygonTest {
       assertNull(polygon.findIntersections(new Ray(new Point(2, 2, 0), new Vector(0, 0, 1))), "Ray crosses the polygon's plane against a vertex");
       // TC03: intersection point is outside against edge (0 points)
       assertNull(polygon.findIntersections(new Ray(new Point(0, 2, 0), new Vector(0, 0, 1))), "Ray crosses the polygon's plane against an edge");
+      // TC04: a tilted hexagon, intersection point is inside it (1 point) and outside against its last edge (0 points)
+      Polygon hexagon = new Polygon(new Point(2, 0, 0), new Point(1, 2, 1), new Point(-1, 2, 1),
+                                    new Point(-2, 0, 0), new Point(-1, -2, -1), new Point(1, -2, -1));
+      assertEquals(List.of(new Point(1.2, -1, -0.5)),
+                   hexagon.findIntersections(new Ray(new Point(1.2, -1, 5), new Vector(0, 0, -1))),
+                   "Ray crosses the hexagon inside of it");
+      assertNull(hexagon.findIntersections(new Ray(new Point(1.9, -1, 5), new Vector(0, 0, -1))),
+                 "Ray crosses the hexagon's plane against its last edge");
       // =============== Boundary Values Tests ==================
       // TC11: intersection point is on a polygon's vertex (0 points)
       assertNull(polygon.findIntersections(new Ray(new Point(1, 1, 0), new Vector(0, 0, 1))),  "Ray crosses the polygon at a vertex");
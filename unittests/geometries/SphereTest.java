@@ -153,5 +153,46 @@ class SphereTest {
         // TC11: Ray intersects the sphere and the first intersection point is on range (1 point)
         assertEquals(List.of(new Intersectable.GeoPoint(sphere, p1)), sphere.findGeoIntersections(new Ray(new Point(-1, 0, 0), new Vector(3, 1, 0)),
                 p1.distance(new Point(-1, 0, 0))), "Ray crosses plane and intersection point is on range");
+        // TC12: Ray starts at the center and the intersection point is out of range (0 points)
+        assertNull(sphere.findGeoIntersections(new Ray(new Point(1, 0, 0), new Vector(0, 1, 0)), 0.5),
+                "Ray from the center found an intersection out of range");
+        // TC13: Ray starts at the center and the intersection point is on range (1 point)
+        assertEquals(List.of(new Intersectable.GeoPoint(sphere, new Point(1, 1, 0))),
+                sphere.findGeoIntersections(new Ray(new Point(1, 0, 0), new Vector(0, 1, 0)), 1),
+                "Ray from the center and intersection point is on range");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Intersectable#intersect(Ray, Intersectable.GeoPoint)}.
+     */
+    @Test
+    void testIntersect() {
+        Sphere sphere = new Sphere(1d, new Point(1, 0, 0));
+        Intersectable.GeoPoint hit = new Intersectable.GeoPoint();
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the closest of the two intersections
+        assertTrue(sphere.intersect(new Ray(new Point(-1, 0, 0), new Vector(1, 0, 0)), hit), "Ray crosses the sphere");
+        assertEquals(1, hit.distance, 0.00001, "Wrong closest intersection");
+        // TC02: the ray starts inside the sphere
+        assertTrue(sphere.intersect(new Ray(new Point(1.5, 0, 0), new Vector(1, 0, 0)), hit.reset(Double.POSITIVE_INFINITY)),
+                "Ray from inside the sphere");
+        assertEquals(0.5, hit.distance, 0.00001, "Wrong intersection from inside");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: rays starting on the surface - the same intersections as found by the list query
+        for (int i = 0; i < 24; ++i) {
+            double angle = i * Math.PI / 12;
+            Point head = new Point(1 + Math.cos(angle), Math.sin(angle), 0);
+            for (Vector direction : new Vector[]{new Vector(1, 0.3, 0), new Vector(-1, 0.3, 0),
+                    new Vector(0, 1, 0.2), new Vector(0, -1, 0.2)}) {
+                Ray ray = new Ray(head, direction);
+                List<Intersectable.GeoPoint> all = sphere.findGeoIntersections(ray);
+                boolean found = sphere.intersect(ray, hit.reset(Double.POSITIVE_INFINITY));
+                assertEquals(all != null, found, "The queries disagree on ray " + i);
+                if (found)
+                    assertEquals(all.stream().mapToDouble(gp -> gp.distance).min().getAsDouble(), hit.distance,
+                            "The queries disagree on the distance of ray " + i);
+            }
+        }
+    }
+}
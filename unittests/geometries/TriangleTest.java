@@ -89,4 +89,40 @@ class TriangleTest {
         result = triangle.findGeoIntersections(new Ray(new Point(-0.5, -0.5, 0), new Vector(0, 0, 1)), 2);
         assertEquals(List.of(new Intersectable.GeoPoint(triangle, new Point(-0.5, -0.5, 2))), result, "Ray crosses triangle inside of it and on max distance");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Intersectable#intersect(Ray, Intersectable.GeoPoint)}.
+     */
+    @Test
+    void testIntersect() {
+        Triangle triangle = new Triangle(new Point(0, 0, 2), new Point(4, 0, 2), new Point(0, 2, 2));
+        Intersectable.GeoPoint hit = new Intersectable.GeoPoint();
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray crosses the triangle, the barycentric coordinates are the weights of the 2nd and 3rd vertices
+        assertTrue(triangle.intersect(new Ray(new Point(1, 1, 0), new Vector(0, 0, 1)), hit), "Ray crosses the triangle");
+        assertEquals(2, hit.distance, 0.00001, "Wrong distance");
+        assertEquals(new Point(1, 1, 2), hit.point, "Wrong intersection point");
+        assertEquals(0.25, hit.u, 0.00001, "Wrong barycentric coordinate u");
+        assertEquals(0.5, hit.v, 0.00001, "Wrong barycentric coordinate v");
+        // TC02: a closer intersection was already found
+        assertFalse(triangle.intersect(new Ray(new Point(1, 1, 0), new Vector(0, 0, 1)), hit.reset(1)),
+                "Triangle beyond the closest intersection");
+        // TC03: the triangle is behind the ray
+        assertFalse(triangle.intersect(new Ray(new Point(1, 1, 0), new Vector(0, 0, -1)), hit.reset(Double.POSITIVE_INFINITY)),
+                "Triangle behind the ray");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the ray is parallel to the triangle
+        assertFalse(triangle.intersect(new Ray(new Point(1, 1, 0), new Vector(1, 0, 0)), hit.reset(Double.POSITIVE_INFINITY)),
+                "Ray parallel to the triangle");
+        // TC12: the ray starts on the triangle
+        assertFalse(triangle.intersect(new Ray(new Point(1, 1, 2), new Vector(0, 0, 1)), hit.reset(Double.POSITIVE_INFINITY)),
+                "Ray starting on the triangle");
+        // TC13: rays crossing the triangle next to its edges - the barycentric coordinates are inside the triangle
+        for (double offset : new double[]{-1e-10, -1e-11, -1e-13, 1e-13, 1e-11, 1e-10})
+            for (Point head : new Point[]{new Point(1, offset, 0), new Point(offset, 1, 0), new Point(2 + offset, 1, 0)})
+                if (triangle.intersect(new Ray(head, new Vector(0, 0, 1)), hit.reset(Double.POSITIVE_INFINITY)))
+                    assertTrue(hit.u >= 0 && hit.v >= 0 && hit.u + hit.v <= 1,
+                            "Barycentric coordinates out of the triangle near its edge");
+    }
+}
@@ -5,6 +5,8 @@ import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static primitives.Util.isZero;
 
@@ -49,4 +51,55 @@ class TubeTest {
         // ensure that the result is orthogonal to the tube's direction vector
         assertTrue(isZero(vr.dotProduct(dir)), "Tube's normal to a bottom point incorrect");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Tube#findIntersections(Ray)}.
+     */
+    @Test
+    void testFindIntersections() {
+        Tube tube = new Tube(1, new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)));
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Ray starts before and crosses the tube (2 points)
+        assertEquals(List.of(new Point(1, 0, 1), new Point(-1, 0, 1)),
+                tube.findIntersections(new Ray(new Point(2, 0, 1), new Vector(-1, 0, 0))), "Ray crosses the tube");
+        // TC02: Ray's line is outside the tube (0 points)
+        assertNull(tube.findIntersections(new Ray(new Point(2, 2, 0), new Vector(-1, 0, 0))), "Ray's line out of tube");
+        // TC03: Ray starts inside the tube (1 point)
+        assertEquals(List.of(new Point(1, 0, 0)),
+                tube.findIntersections(new Ray(new Point(0.5, 0, 0), new Vector(1, 0, 0))), "Ray starts in tube");
+        // TC04: Ray starts after the tube (0 points)
+        assertNull(tube.findIntersections(new Ray(new Point(2, 0, 0), new Vector(1, 0, 0))), "Ray starts after the tube");
+        // TC05: Ray crosses the tube diagonally to its axis (2 points)
+        assertEquals(List.of(new Point(1, 0, 1), new Point(-1, 0, 3)),
+                tube.findIntersections(new Ray(new Point(2, 0, 0), new Vector(-1, 0, 1))),
+                "Ray crosses the tube diagonally");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Ray is parallel to the axis inside the tube (0 points)
+        assertNull(tube.findIntersections(new Ray(new Point(0.5, 0, 0), new Vector(0, 0, 1))),
+                "Ray parallel to the tube's axis");
+        // TC12: Ray is tangent to the tube (0 points)
+        assertNull(tube.findIntersections(new Ray(new Point(1, -2, 0), new Vector(0, 1, 0))), "Ray tangent to the tube");
+        // TC13: Ray starts at the tube and goes outside (0 points)
+        assertNull(tube.findIntersections(new Ray(new Point(1, 0, 0), new Vector(1, 1, 0))),
+                "Ray starts at the tube and goes outside");
+    }
+
+    /**
+     * Test method for {@link geometries.Tube#findGeoIntersections(Ray, double)}.
+     */
+    @Test
+    void testFindGeoIntersections() {
+        Tube tube = new Tube(1, new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)));
+        Ray ray = new Ray(new Point(2, 0, 1), new Vector(-1, 0, 0));
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: only the first intersection is in range (1 point)
+        assertEquals(List.of(new Intersectable.GeoPoint(tube, new Point(1, 0, 1))), tube.findGeoIntersections(ray, 2),
+                "Wrong intersections in range");
+        // TC02: no intersection is in range (0 points)
+        assertNull(tube.findGeoIntersections(ray, 0.5), "Intersections out of range");
+        // =============== Boundary Values Tests ==================
+        // TC11: the second intersection is exactly on the maximum distance (2 points)
+        assertEquals(2, tube.findGeoIntersections(ray, 3).size(), "Intersection on the maximum distance");
+    }
+}
@@ -0,0 +1,55 @@
+package lighting;
+
+import org.junit.jupiter.api.Test;
+import primitives.Color;
+import primitives.Point;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for lighting.PointLight class
+ *
+ * @author Uriel Dolev
+ */
+class PointLightTest {
+    /**
+     * Test method for {@link lighting.PointLight#getRadius(double)}.
+     */
+    @Test
+    void testGetRadius() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: quadratic attenuation - the part of the intensity left at the radius is the given one
+        PointLight light = new PointLight(new Color(100, 400, 200), Point.ZERO).setKl(0.5).setKq(0.01);
+        double radius = light.getRadius(0.1);
+        assertEquals(40, light.getIntensity(new Point(radius, 0, 0)).getGreen(), 0.0000001,
+                "Wrong radius of a quadratic attenuation");
+        // TC02: linear attenuation
+        light = new PointLight(new Color(100, 400, 200), Point.ZERO).setKc(2).setKl(0.5);
+        assertEquals(196, light.getRadius(0.01), 0.0000001, "Wrong radius of a linear attenuation");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: no attenuation by distance
+        light = new PointLight(new Color(100, 400, 200), Point.ZERO);
+        assertEquals(Double.POSITIVE_INFINITY, light.getRadius(0.01), "A light without attenuation has a radius");
+        // TC12: the light is attenuated below the given factor everywhere
+        light.setKc(200);
+        assertEquals(0, light.getRadius(0.01), "A light attenuated below the factor everywhere has a radius");
+    }
+
+    /**
+     * Test method for {@link lighting.PointLight#reaches(Point, double)}.
+     */
+    @Test
+    void testReaches() {
+        PointLight light = new PointLight(new Color(100, 400, 200), new Point(0, 0, 10)).setKc(0).setKq(1);
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a point inside the radius
+        assertTrue(light.reaches(new Point(0.6, 0.8, 10), 0.25), "The light doesn't reach a point inside its radius");
+        // TC02: a point outside the radius
+        assertFalse(light.reaches(new Point(3, 4, 10), 0.25), "The light reaches a point outside its radius");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a point on the radius
+        assertTrue(light.reaches(new Point(0, 2, 10), 0.25), "The light doesn't reach a point on its radius");
+    }
+}
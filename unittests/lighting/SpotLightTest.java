@@ -0,0 +1,41 @@
+package lighting;
+
+import org.junit.jupiter.api.Test;
+import primitives.Color;
+import primitives.Point;
+import primitives.Vector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for lighting.SpotLight class
+ *
+ * @author Uriel Dolev
+ */
+class SpotLightTest {
+    /**
+     * Test method for {@link lighting.SpotLight#reaches(Point, double)}.
+     */
+    @Test
+    void testReaches() {
+        SpotLight light = (SpotLight) new SpotLight(new Color(400, 400, 400), new Point(0, 0, 10), new Vector(0, 0, -1))
+                .setKq(1);
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a point in front of the light, inside its radius
+        assertTrue(light.reaches(new Point(1, 2, 0), 0.001), "The light doesn't reach a point in front of it");
+        // TC02: a point behind the light
+        assertFalse(light.reaches(new Point(1, 2, 15), 0.001), "The light reaches a point behind it");
+        // TC03: a point in front of the light, outside its radius
+        assertFalse(light.reaches(new Point(1, 2, -100), 0.001), "The light reaches a point outside its radius");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a point beside the light, where its intensity is zero
+        assertFalse(light.reaches(new Point(3, 4, 10), 0.001), "The light reaches a point beside it");
+        // TC12: a point in front of a narrow beam, inside the radius but outside the cone
+        SpotLight narrow = new SpotLight(new Color(400, 400, 400), new Point(0, 0, 10), new Vector(0, 0, -1))
+                .setNarrowBeam(50);
+        assertTrue(narrow.reaches(new Point(0.1, 0, 0), 0.001), "The narrow beam doesn't reach a point on its axis");
+        assertFalse(narrow.reaches(new Point(8, 0, 0), 0.001), "The narrow beam reaches a point outside its cone");
+        assertTrue(light.reaches(new Point(5, 0, 9.95), 0.000001), "The wide beam doesn't reach a point beside it");
+    }
+}
@@ -0,0 +1,70 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for primitives.Material class
+ *
+ * @author Uriel Dolev
+ */
+class MaterialTest {
+    /**
+     * Test method for {@link primitives.Material#isReflective()}, {@link primitives.Material#isTransparent()}
+     * and {@link primitives.Material#isDiffuseOnly()}.
+     */
+    @Test
+    void testClassification() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a material with only local effects
+        Material material = new Material().setKd(0.5).setKs(0.5).setShininess(30);
+        assertTrue(material.isDiffuseOnly(), "A material without kR and kT isn't diffuse only");
+        assertFalse(material.isReflective(), "A material without kR is reflective");
+        assertFalse(material.isTransparent(), "A material without kT is transparent");
+        // TC02: a reflective material
+        material = new Material().setKr(new Double3(0.5, 0, 0.4));
+        assertTrue(material.isReflective(), "A material with kR isn't reflective");
+        assertFalse(material.isTransparent(), "A material without kT is transparent");
+        assertFalse(material.isDiffuseOnly(), "A reflective material is diffuse only");
+        // TC03: a transparent material
+        material = new Material().setKt(0.3);
+        assertTrue(material.isTransparent(), "A material with kT isn't transparent");
+        assertFalse(material.isReflective(), "A material without kR is reflective");
+        // TC04: a reflective and transparent material
+        material = new Material().setKr(0.2).setKt(new Double3(0, 0.6, 0));
+        assertTrue(material.isReflective() && material.isTransparent(), "Wrong classification of a glossy glass");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: setting a factor back to zero
+        material = new Material().setKr(1).setKt(1).setKr(0).setKt(Double3.ZERO);
+        assertTrue(material.isDiffuseOnly(), "A material whose kR and kT were reset isn't diffuse only");
+        // TC12: factors assigned directly to the fields
+        material = new Material();
+        material.kR = new Double3(0.5);
+        assertTrue(material.isReflective(), "A material with an assigned kR isn't reflective");
+        material.kT = new Double3(0, 0, 0.1);
+        assertTrue(material.isTransparent(), "A material with an assigned kT isn't transparent");
+        material.kR = material.kT = Double3.ZERO;
+        assertTrue(material.isDiffuseOnly(), "A material whose kR and kT were assigned zero isn't diffuse only");
+    }
+
+    /**
+     * Test method for {@link primitives.Material#getMaxLocalFactor()}.
+     */
+    @Test
+    void testGetMaxLocalFactor() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the greatest component of kD + kS
+        assertEquals(0.9, new Material().setKd(new Double3(0.2, 0.5, 0.1)).setKs(new Double3(0.3, 0.4, 0.1))
+                .getMaxLocalFactor(), 0.0000001, "Wrong greatest local factor");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a material without local effects
+        assertEquals(0, new Material().setKr(1).getMaxLocalFactor(), "A material without kD and kS has a local factor");
+        // TC12: factors assigned directly to the fields
+        Material material = new Material().setKd(0.2);
+        material.kS = new Double3(0.1, 0.6, 0.3);
+        assertEquals(0.8, material.getMaxLocalFactor(), 0.0000001, "Wrong local factor of assigned kS");
+    }
+}
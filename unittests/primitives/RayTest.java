@@ -34,4 +34,23 @@ class RayTest {
         points = List.of(new Point(4, 0, 0), new Point(3, 0, 0), new Point(2, 0, 0));
         assertEquals(new Point(2, 0, 0), ray.findClosestPoint(points), "Wrong closest point");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link primitives.Ray#Ray(Point, Point)}.
+     */
+    @Test
+    void testTargetConstructor() {
+        Point head = new Point(1, 2, 3);
+        Point target = new Point(-2, 4, 9);
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray towards a point is the ray in the direction of the vector to the point
+        Ray ray = new Ray(head, target);
+        assertEquals(new Ray(head, target.subtract(head)), ray, "Wrong ray towards a point");
+        assertEquals(1, ray.getDir().length(), 0.00000001, "The ray's direction isn't a unit vector");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the point is the ray's head
+        assertThrows(IllegalArgumentException.class, () -> new Ray(head, new Point(1, 2, 3)),
+                "Constructed a ray towards its own head");
+    }
+}
@@ -0,0 +1,80 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for primitives.VectorMath class
+ *
+ * @author Uriel Dolev
+ */
+class VectorMathTest {
+    private final Point p = new Point(1, -2, 3.5);
+    private final Vector v1 = new Vector(0.3, 1.7, -2.2);
+    private final Vector v2 = new Vector(-4.1, 0.9, 1.3);
+
+    /**
+     * Test method for {@link primitives.VectorMath#dot(double, double, double, double, double, double)}.
+     */
+    @Test
+    void testDot() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the same value as the vectors' dot product
+        assertEquals(v1.dotProduct(v2), VectorMath.dot(v1.getX(), v1.getY(), v1.getZ(), v2.getX(), v2.getY(), v2.getZ()),
+                "Wrong dot product");
+        // =============== Boundary Values Tests ==================
+        // TC11: orthogonal vectors
+        assertEquals(0, VectorMath.dot(1, 2, 3, -2, 1, 0), "Orthogonal vectors' dot product isn't zero");
+    }
+
+    /**
+     * Test method for {@link primitives.VectorMath#combine(double[], Point, Vector, double, Vector, double)}.
+     */
+    @Test
+    void testCombine() {
+        double[] result = new double[3];
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: moving along two vectors gives exactly the point of the immutable operations
+        Point expected = p.add(v1.scale(0.37)).add(v2.scale(-1.9));
+        assertSame(result, VectorMath.combine(result, p, v1, 0.37, v2, -1.9), "The result array isn't returned");
+        assertArrayEquals(new double[]{expected.getX(), expected.getY(), expected.getZ()}, result, 0,
+                "Wrong point moved along two vectors");
+        // TC02: moving along one vector gives exactly the point of the immutable operations
+        expected = p.add(v1.scale(2.3));
+        VectorMath.combine(result, p, v1, 2.3);
+        assertArrayEquals(new double[]{expected.getX(), expected.getY(), expected.getZ()}, result, 0,
+                "Wrong point moved along a vector");
+    }
+
+    /**
+     * Test method for {@link primitives.VectorMath#subtract(double[], Point, Point)}.
+     */
+    @Test
+    void testSubtract() {
+        double[] result = new double[3];
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the vector between two points
+        Vector expected = p.subtract(Point.ZERO);
+        assertArrayEquals(new double[]{expected.getX(), expected.getY(), expected.getZ()},
+                VectorMath.subtract(result, p, Point.ZERO), 0, "Wrong vector between points");
+        // =============== Boundary Values Tests ==================
+        // TC11: the same point twice is a zero vector
+        assertThrows(IllegalArgumentException.class, () -> VectorMath.subtract(result, p, new Point(1, -2, 3.5)),
+                "Subtracted a point from itself");
+    }
+
+    /**
+     * Test method for {@link primitives.VectorMath#normalize(double[])}.
+     */
+    @Test
+    void testNormalize() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: normalizing in place gives exactly the immutable operation's unit vector
+        Vector expected = v1.normalize();
+        double[] v = {v1.getX(), v1.getY(), v1.getZ()};
+        assertSame(v, VectorMath.normalize(v), "The array isn't returned");
+        assertArrayEquals(new double[]{expected.getX(), expected.getY(), expected.getZ()}, v, 0, "Wrong unit vector");
+        assertEquals(1, VectorMath.length(v[0], v[1], v[2]), 0.00000001, "The vector's length isn't 1");
+    }
+}
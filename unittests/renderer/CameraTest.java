@@ -6,6 +6,11 @@ import lighting.DirectionalLight;
 import org.junit.jupiter.api.Test;
 
 import primitives.*;
+import scene.Scene;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Testing Camera Class
@@ -54,4 +59,170 @@ class CameraTest {
         assertEquals(new Ray(ZERO_POINT, new Vector(1, -3, -10)),
                 camera.setVPSize(8, 8).constructRay(4, 4, 1, 0), badRay);
     }
+
+    /**
+     * Test method for {@link Camera#setMultiThreading(int)} and {@link Camera#setRenderPool(ForkJoinPool)}.
+     */
+    @Test
+    void testRenderPool() {
+        Camera camera = new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPDistance(10).setVPSize(6, 6)
+                .setImageWriter(new ImageWriter("render pool test", 8, 8))
+                .setRayTracer(new RayTracerBasic(new Scene("Test scene")))
+                .setDebugPrint(0);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the camera's pool is kept between renders, with the same amount of threads
+        camera.setMultiThreading(2).renderImage();
+        ForkJoinPool pool = camera.getRenderPool();
+        camera.renderImage();
+        assertSame(pool, camera.getRenderPool(), "pool isn't reused");
+        assertEquals(2, camera.getRenderPool().getParallelism(), "wrong amount of threads after two renders");
+
+        // TC02: an injected pool is used, and isn't shut down by the camera
+        ForkJoinPool injected = new ForkJoinPool(3);
+        camera.setRenderPool(injected).renderImage();
+        assertTrue(pool.isShutdown(), "replaced pool isn't shut down");
+        camera.close();
+        assertFalse(injected.isShutdown(), "injected pool is shut down by the camera");
+        injected.shutdown();
+
+        // =============== Boundary Values Tests ==================
+        // TC11: closing the camera shuts down its own pool, and a new one is created for the next render
+        camera.setMultiThreading(2).renderImage();
+        pool = camera.getRenderPool();
+        camera.close();
+        assertTrue(pool.isShutdown(), "camera's pool isn't shut down");
+        camera.renderImage();
+        assertNotSame(pool, camera.getRenderPool(), "closed pool is reused");
+        camera.close();
+        // TC12: negative amount of threads
+        assertThrows(IllegalArgumentException.class, () -> camera.setMultiThreading(-1),
+                "negative amount of threads doesn't throw");
+    }
+
+    /**
+     * Test method for {@link Camera#setTileExecutor(java.util.concurrent.ExecutorService)}
+     * and {@link Camera#setTileListener(TileListener)}.
+     */
+    @Test
+    void testTileListener() {
+        AtomicInteger pixels = new AtomicInteger();
+        Camera camera = new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPDistance(10).setVPSize(6, 6)
+                .setImageWriter(new ImageWriter("tile listener test", 10, 7))
+                .setRayTracer(new RayTracerBasic(new Scene("Test scene")))
+                .setDebugPrint(0).setTileSize(4)
+                .setTileListener((imageWriter, col, row, width, height) -> pixels.addAndGet(width * height));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: every pixel is reported once when rendering on the render pool
+        camera.setMultiThreading(2).renderImage();
+        assertEquals(70, pixels.get(), "wrong amount of reported pixels");
+        camera.close();
+
+        // TC02: every pixel is reported once when rendering a task per tile
+        var executor = Executors.newCachedThreadPool();
+        pixels.set(0);
+        camera.setTileExecutor(executor).renderImage();
+        assertEquals(70, pixels.get(), "wrong amount of reported pixels");
+        executor.shutdown();
+
+        // =============== Boundary Values Tests ==================
+        // TC11: rendering in the calling thread
+        pixels.set(0);
+        camera.setTileExecutor(null).setMultiThreading(0).renderImage();
+        assertEquals(70, pixels.get(), "wrong amount of reported pixels");
+    }
+
+    /**
+     * Test method for {@link Camera#renderImage()} into an image writer with an HDR framebuffer.
+     */
+    @Test
+    void testHdrRender() {
+        Scene scene = new Scene("Test scene").setBackground(new Color(600, 30, 0));
+        ImageWriter imageWriter = new ImageWriter("hdr render test", 10, 7).enableHdr();
+        new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPDistance(10).setVPSize(6, 6)
+                .setImageWriter(imageWriter)
+                .setRayTracer(new RayTracerBasic(scene))
+                .setDebugPrint(0).setTileSize(4)
+                .renderImage();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: every pixel keeps its unclamped radiance, and is clamped in the image
+        for (int i = 0; i < 7; ++i)
+            for (int j = 0; j < 10; ++j) {
+                assertEquals(600, imageWriter.getRadiance(j, i).getRed(), "wrong radiance");
+                assertEquals(new Color(255, 30, 0).getRGB(), imageWriter.getRGB(j, i), "wrong clamped color");
+            }
+    }
+
+    /**
+     * Test method for adaptive super sampling ({@link Camera#enableAdaptiveSuperSampling()}).
+     */
+    @Test
+    void testAdaptiveSuperSamplingCache() {
+        AtomicInteger traced = new AtomicInteger();
+        // the colors of the samples alternate, so the squares are divided again and again
+        RayTracerBase alternating = new RayTracerBase(new Scene("Test scene")) {
+            @Override
+            public Color traceRay(Ray ray) {
+                return traced.getAndIncrement() % 2 == 0 ? Color.BLACK : new Color(255, 255, 255);
+            }
+        };
+        Camera camera = new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPDistance(10).setVPSize(6, 6)
+                .setImageWriter(new ImageWriter("adaptive super sampling test", 2, 2))
+                .setRayTracer(alternating).setMultiThreading(0).setDebugPrint(0)
+                .setNumOfRaysInLine(9).enableAntialiasing().enableAdaptiveSuperSampling();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the samples of a pixel are on a 9x9 grid, every one of them is traced at most once
+        camera.renderImage();
+        assertTrue(traced.get() > 4 * 4, "squares weren't divided");
+        assertTrue(traced.get() <= 4 * 81, "samples were traced more than once");
+    }
+
+    /**
+     * Test method for {@link Camera#enableVarianceSampling(double, int)}.
+     */
+    @Test
+    void testVarianceSampling() {
+        AtomicInteger traced = new AtomicInteger();
+        RayTracerBase alternating = new RayTracerBase(new Scene("Test scene")) {
+            @Override
+            public Color traceRay(Ray ray) {
+                return traced.getAndIncrement() % 2 == 0 ? Color.BLACK : new Color(255, 255, 255);
+            }
+        };
+        Camera camera = new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPDistance(10).setVPSize(6, 6)
+                .setImageWriter(new ImageWriter("variance sampling test", 3, 2))
+                .setRayTracer(new RayTracerBasic(new Scene("Test scene")))
+                .setMultiThreading(0).setDebugPrint(0)
+                .enableAntialiasing().enableVarianceSampling(1, 64);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a flat background is known after the minimal amount of samples
+        camera.renderImage();
+        for (int[] row : camera.getSampleCounts())
+            for (int count : row)
+                assertEquals(4, count, "wrong amount of samples for a flat pixel");
+
+        // TC02: a noisy pixel uses the whole budget
+        camera.setRayTracer(alternating).renderImage();
+        for (int[] row : camera.getSampleCounts())
+            for (int count : row)
+                assertEquals(64, count, "wrong amount of samples for a noisy pixel");
+        assertEquals(6 * 64, traced.get(), "wrong amount of traced rays");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a single sample budget
+        camera.enableVarianceSampling(1, 1).renderImage();
+        assertEquals(1, camera.getSampleCounts()[1][2], "wrong amount of samples for a single sample budget");
+        // TC12: negative threshold
+        assertThrows(IllegalArgumentException.class, () -> camera.enableVarianceSampling(-1, 4),
+                "negative threshold doesn't throw");
+    }
 }
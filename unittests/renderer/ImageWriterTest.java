@@ -3,6 +3,15 @@ package renderer;
 import org.junit.jupiter.api.Test;
 import primitives.Color;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * Testing ImageWriter Class
  *
@@ -30,4 +39,146 @@ public class ImageWriterTest {
         }
         testImage.writeToImage();
     }
+
+    /**
+     * Test method for
+     * {@link ImageWriter#ImageWriter(String, int, int)}
+     * and {@link ImageWriter#ImageWriter(String, int, int, Path)} of images too large for them.
+     */
+    @Test
+    void testTooLarge() throws IOException {
+        Path framebuffer = Files.createTempFile("framebuffer", ".rtfb");
+        framebuffer.toFile().deleteOnExit();
+        // =============== Boundary Values Tests ==================
+        // TC11: more pixels than an array can hold
+        assertThrows(IllegalArgumentException.class, () -> new ImageWriter("too large", 50000, 50000),
+                "Created an image with more pixels than an array");
+        // TC12: a row larger than a single mapping
+        assertThrows(IllegalArgumentException.class, () -> new ImageWriter("too large", 300000000, 1, framebuffer),
+                "Mapped an image with a row larger than a mapping");
+    }
+
+    /**
+     * Test method for
+     * {@link ImageWriter#writeTile(int, int, int, int, int[])}
+     * and {@link ImageWriter#getRGB(int, int)}.
+     */
+    @Test
+    void testWriteTile() {
+        ImageWriter image = new ImageWriter("tile", 7, 5);
+        Color[] colors = {new Color(java.awt.Color.YELLOW), new Color(300, 12.7, 0), new Color(0, 255, 1000)};
+        int[] rgb = new int[3 * 2];
+        for (int i = 0; i < rgb.length; ++i)
+            rgb[i] = colors[i % 3].getRGB();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a tile inside the image is written by rows, the same as by pixels
+        image.writeTile(2, 1, 3, 2, rgb);
+        for (int row = 0; row < 2; ++row)
+            for (int col = 0; col < 3; ++col)
+                assertEquals(colors[col].getColor().getRGB(), image.getRGB(2 + col, 1 + row), "Wrong pixel in the tile");
+        assertEquals(java.awt.Color.BLACK.getRGB(), image.getRGB(5, 1), "A pixel out of the tile was written");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a tile on the image's corner
+        image.writeTile(4, 3, 3, 2, rgb);
+        assertEquals(colors[2].getColor().getRGB(), image.getRGB(6, 4), "Wrong pixel on the corner");
+        // TC12: a tile crossing the image's edge
+        assertThrows(IndexOutOfBoundsException.class, () -> image.writeTile(5, 3, 3, 2, rgb),
+                "Wrote a tile out of the image");
+    }
+
+    /**
+     * Test method for
+     * {@link ImageWriter#enableHdr()},
+     * {@link ImageWriter#writeTile(int, int, int, int, float[])}
+     * and {@link ImageWriter#setToneMapper(ToneMapper)}.
+     */
+    @Test
+    void testHdr() throws IOException {
+        ImageWriter image = new ImageWriter("hdr test", 4, 3);
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the radiance is kept unclamped, and re-graded when the image is written
+        assertThrows(IllegalStateException.class, () -> image.setToneMapper(ToneMapper.CLAMP),
+                "Set a tone mapper without an HDR framebuffer");
+        image.enableHdr();
+        image.writePixel(0, 0, new Color(600, 100, 0));
+        image.writeTile(1, 1, 2, 2, new float[]{1000, 0, 0, 0, 300, 0, 0, 0, 40, 12, 12, 12});
+        assertEquals(new Color(600, 100, 0).getRGB(), image.getRadiance(0, 0).getRGB(), "Wrong radiance of a pixel");
+        assertEquals(300, image.getRadiance(2, 1).getGreen(), "Wrong radiance in a tile");
+        assertEquals(new Color(255, 100, 0).getRGB(), image.getRGB(0, 0), "The pixel isn't clamped before the tone mapping");
+        image.setToneMapper(ToneMapper.exposure(-1)).writeToImage();
+        File file = new File(System.getProperty("user.dir") + "/images/hdr test.png");
+        BufferedImage png = ImageIO.read(file);
+        assertEquals(new Color(255, 50, 0).getRGB(), png.getRGB(0, 0), "The pixel wasn't re-graded");
+        assertEquals(new Color(0, 150, 0).getRGB(), png.getRGB(2, 1), "The tile wasn't re-graded");
+        assertEquals(new Color(6, 6, 6).getRGB(), png.getRGB(2, 2), "The tile wasn't re-graded");
+        // TC02: the tone mapping doesn't change the pixel color matrix, so the pixels can be written as they were
+        assertEquals(new Color(255, 100, 0).getRGB(), image.getRGB(0, 0), "The tone mapping changed the pixel");
+        assertEquals(java.awt.Color.BLACK.getRGB(), image.getRGB(2, 1), "The tone mapping changed the tile");
+        image.setToneMapper(null).writeToImage();
+        assertEquals(new Color(255, 100, 0).getRGB(), ImageIO.read(file).getRGB(0, 0), "The clamped pixel wasn't written");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: writing the radiance of a tile without an HDR framebuffer
+        assertThrows(IllegalStateException.class,
+                () -> new ImageWriter("no hdr", 4, 3).writeTile(0, 0, 1, 1, new float[]{1, 2, 3}),
+                "Wrote radiance without an HDR framebuffer");
+    }
+
+    /**
+     * Test method for
+     * {@link ImageWriter#ImageWriter(String, int, int, Path)},
+     * {@link ImageWriter#ImageWriter(String, Path)},
+     * {@link ImageWriter#close()}
+     * and {@link ImageWriter#writeToImage()} of a memory mapped image.
+     */
+    @Test
+    void testMapped() throws IOException {
+        Path framebuffer = Files.createTempFile("framebuffer", ".rtfb");
+        framebuffer.toFile().deleteOnExit();
+        ImageWriter image = new ImageWriter("mapped test", 7, 40, framebuffer);
+        Color[] colors = {new Color(java.awt.Color.YELLOW), new Color(300, 12.7, 0), new Color(0, 255, 1000)};
+        int[] rgb = new int[3 * 20];
+        for (int i = 0; i < rgb.length; ++i)
+            rgb[i] = colors[i % 3].getRGB();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the pixels are written to the file, the same as to an image in the heap
+        image.writeTile(2, 10, 3, 20, rgb);
+        image.writePixel(6, 39, colors[1]);
+        int[] read = new int[rgb.length];
+        image.readTile(2, 10, 3, 20, read);
+        assertArrayEquals(rgb, read, "Wrong pixels in the tile");
+        assertEquals(colors[1].getColor().getRGB(), image.getRGB(6, 39), "Wrong pixel");
+        assertEquals(java.awt.Color.BLACK.getRGB(), image.getRGB(5, 10), "A pixel out of the tile was written");
+        // TC02: the pixels are kept in the file when it is opened again
+        ImageWriter reopened = new ImageWriter("mapped test", framebuffer);
+        assertEquals(7, reopened.getNx(), "Wrong width of the reopened image");
+        assertEquals(40, reopened.getNy(), "Wrong height of the reopened image");
+        assertEquals(colors[2].getColor().getRGB(), reopened.getRGB(4, 29), "The pixel wasn't kept in the file");
+        // TC03: the png of the image has its pixels
+        reopened.writeToImage();
+        BufferedImage png = ImageIO.read(new File(System.getProperty("user.dir") + "/images/mapped test.png"));
+        for (int y = 0; y < 40; ++y)
+            for (int x = 0; x < 7; ++x)
+                assertEquals(image.getRGB(x, y), png.getRGB(x, y), "Wrong pixel in the png");
+        reopened.close();
+        // TC04: the pixels are kept in the file after it is closed, and can't be accessed anymore
+        image.writePixel(0, 0, colors[0]);
+        image.close();
+        assertThrows(IllegalStateException.class, () -> image.getRGB(0, 0), "Read a pixel of a closed image");
+        assertThrows(IllegalStateException.class, image::writeToImage, "Wrote a closed image");
+        try (ImageWriter closed = new ImageWriter("mapped test", framebuffer)) {
+            assertEquals(colors[0].getColor().getRGB(), closed.getRGB(0, 0), "The pixel wasn't kept after closing");
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a memory mapped image has no HDR framebuffer
+        assertThrows(IllegalStateException.class, image::enableHdr, "Enabled HDR for a memory mapped image");
+        // TC12: a file that isn't a framebuffer
+        Files.write(framebuffer, new byte[]{1, 2, 3});
+        assertThrows(IllegalArgumentException.class, () -> new ImageWriter("mapped test", framebuffer),
+                "Opened a file that isn't a framebuffer");
+    }
 }
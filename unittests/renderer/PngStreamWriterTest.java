@@ -0,0 +1,127 @@
+package renderer;
+
+import geometries.Sphere;
+import lighting.AmbientLight;
+import lighting.PointLight;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Adler32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for renderer.PngStreamWriter class
+ *
+ * @author Uriel Dolev
+ */
+class PngStreamWriterTest {
+    /**
+     * Render a small scene while streaming it to a png.
+     *
+     * @param imageWriter the image writer.
+     * @param tileSize    the camera's tile size.
+     * @param bandHeight  the stream writer's band height.
+     * @param threads     the amount of threads of the camera.
+     * @return the png.
+     */
+    private byte[] render(ImageWriter imageWriter, int tileSize, int bandHeight, int threads) {
+        Scene scene = new Scene("Test scene").setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1))
+                .setBackground(new Color(20, 40, 90));
+        scene.geometries.add(new Sphere(50d, new Point(0, 0, -100)).setEmission(new Color(100, 20, 20))
+                .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(30)));
+        scene.lights.add(new PointLight(new Color(500, 300, 0), new Point(-50, -50, 50)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PngStreamWriter png = new PngStreamWriter(imageWriter, out, bandHeight);
+        new Camera(Point.ZERO, new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPDistance(100).setVPSize(150, 150)
+                .setImageWriter(imageWriter)
+                .setRayTracer(new RayTracerBasic(scene))
+                .setDebugPrint(0).setTileSize(tileSize).setMultiThreading(threads)
+                .setTileListener(png)
+                .renderImage();
+        assertTrue(png.isDone(), "The image wasn't written completely");
+        png.close();
+        return out.toByteArray();
+    }
+
+    /**
+     * Check that a png has the image writer's pixels
+     *
+     * @param imageWriter the image writer.
+     * @param png         the png.
+     */
+    private void assertSameImage(ImageWriter imageWriter, byte[] png) {
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(png));
+        } catch (IOException e) {
+            throw new AssertionError("The png can't be read", e);
+        }
+        assertEquals(imageWriter.getNx(), image.getWidth(), "Wrong width");
+        assertEquals(imageWriter.getNy(), image.getHeight(), "Wrong height");
+        for (int i = 0; i < imageWriter.getNy(); ++i)
+            for (int j = 0; j < imageWriter.getNx(); ++j)
+                assertEquals(imageWriter.getRGB(j, i), image.getRGB(j, i), "Wrong pixel");
+    }
+
+    /**
+     * Test method for {@link renderer.PngStreamWriter#tileRendered(ImageWriter, int, int, int, int)}.
+     */
+    @Test
+    void testStream() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the bands are the tiles' rows, rendered by several threads
+        ImageWriter imageWriter = new ImageWriter("stream test", 61, 47);
+        assertSameImage(imageWriter, render(imageWriter, 8, 8, 2));
+        // TC02: the bands cross the tiles
+        imageWriter = new ImageWriter("stream test", 61, 47);
+        assertSameImage(imageWriter, render(imageWriter, 8, 5, 2));
+        // TC03: many threads completing short bands, appended while others are compressed
+        imageWriter = new ImageWriter("stream test", 61, 47);
+        assertSameImage(imageWriter, render(imageWriter, 4, 1, 8));
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a single band
+        imageWriter = new ImageWriter("stream test", 61, 47);
+        assertSameImage(imageWriter, render(imageWriter, 16, 100, 0));
+        // TC12: a band of every row
+        imageWriter = new ImageWriter("stream test", 61, 47);
+        assertSameImage(imageWriter, render(imageWriter, 4, 1, 0));
+        // TC13: closing before the image was rendered
+        PngStreamWriter png = new PngStreamWriter(new ImageWriter("stream test", 4, 4), new ByteArrayOutputStream(), 2);
+        png.tileRendered(null, 0, 0, 4, 2);
+        assertFalse(png.isDone(), "Half an image is done");
+        assertThrows(IllegalStateException.class, png::close, "Closed a partial image");
+    }
+
+    /**
+     * Test method for {@link renderer.PngStreamWriter#combineAdler(long, long, long)}.
+     */
+    @Test
+    void testCombineAdler() {
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; ++i)
+            data[i] = (byte) (i * 31 + i / 7);
+        Adler32 whole = new Adler32();
+        whole.update(data);
+        Adler32 first = new Adler32();
+        first.update(data, 0, 70001);
+        Adler32 second = new Adler32();
+        second.update(data, 70001, data.length - 70001);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the checksums of two parts are combined into the checksum of the whole
+        assertEquals(whole.getValue(), PngStreamWriter.combineAdler(first.getValue(), second.getValue(), data.length - 70001),
+                "Wrong combined checksum");
+        // =============== Boundary Values Tests ==================
+        // TC11: combining with the checksum of nothing
+        assertEquals(whole.getValue(), PngStreamWriter.combineAdler(whole.getValue(), 1, 0), "Wrong combined checksum");
+    }
+}
@@ -0,0 +1,103 @@
+package renderer;
+
+import geometries.Geometries;
+import geometries.Intersectable.GeoPoint;
+import geometries.Plane;
+import geometries.Sphere;
+import lighting.AmbientLight;
+import lighting.PointLight;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for renderer.RayTracerBasic class
+ *
+ * @author Uriel Dolev
+ */
+class RayTracerBasicTest {
+    /**
+     * Test method for {@link renderer.RayTracerBasic#traceRay(Ray)} with materials that don't reflect
+     * or don't transmit light.
+     */
+    @Test
+    void testSkippedBranches() {
+        Scene scene = new Scene("Test scene").setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1));
+        scene.lights.add(new PointLight(new Color(500, 300, 0), new Point(100, 100, 500)));
+        int[] reflected = {0};
+        int[] refracted = {0};
+        RayTracerBase tracer = new RayTracerBasic(scene) {
+            @Override
+            protected Ray constructReflectedRay(GeoPoint gp, Vector v, Vector n) {
+                ++reflected[0];
+                return super.constructReflectedRay(gp, v, n);
+            }
+
+            @Override
+            protected Ray constructRefractedRay(GeoPoint gp, Vector v, Vector n) {
+                ++refracted[0];
+                return super.constructRefractedRay(gp, v, n);
+            }
+        };
+        Ray ray = new Ray(new Point(0, 0, 1000), new Vector(0, 0, -1));
+        Material material = new Material().setKd(0.5).setKs(0.5).setShininess(30);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: no secondary ray is constructed for a diffuse only geometry
+        scene.setGeometries(new Geometries(new Sphere(50d, Point.ZERO).setMaterial(material)));
+        tracer.traceRay(ray);
+        assertEquals(0, reflected[0] + refracted[0], "Constructed secondary rays with no effect");
+        // TC02: only the reflected ray is constructed for an opaque mirror
+        scene.setGeometries(new Geometries(new Sphere(50d, Point.ZERO).setMaterial(material.setKr(0.5))));
+        tracer.traceRay(ray);
+        assertEquals(1, reflected[0], "Wrong number of reflected rays");
+        assertEquals(0, refracted[0], "Constructed a refracted ray of an opaque geometry");
+        // TC03: only the refracted rays are constructed for a transparent, non-reflective geometry
+        // (one into the sphere and one out of it)
+        reflected[0] = 0;
+        scene.setGeometries(new Geometries(
+                new Sphere(50d, Point.ZERO).setMaterial(new Material().setKd(0.5).setKt(0.5))));
+        tracer.traceRay(ray);
+        assertEquals(0, reflected[0], "Constructed a reflected ray of a non-reflective geometry");
+        assertEquals(2, refracted[0], "Wrong number of refracted rays");
+    }
+
+    /**
+     * Test method for {@link renderer.RayTracerBasic#getOccluderHits()} and
+     * {@link renderer.RayTracerBasic#getOccluderMisses()}.
+     */
+    @Test
+    void testOccluderCache() {
+        Scene scene = new Scene("Test scene");
+        scene.geometries.add(new Plane(Point.ZERO, new Vector(0, 0, 1)).setMaterial(new Material().setKd(0.5)),
+                new Sphere(10d, new Point(0, 0, 50)).setMaterial(new Material().setKd(0.5)));
+        scene.lights.add(new PointLight(new Color(500, 300, 0), new Point(0, 0, 100)));
+        RayTracerBasic tracer = new RayTracerBasic(scene);
+        Vector down = new Vector(0, 0, -1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the first shadowed point searches the scene, and its neighbour is shadowed by the same sphere
+        assertEquals(0, tracer.traceRay(new Ray(new Point(1, 1, 30), down)).getRed(), "The point isn't shadowed");
+        assertEquals(0, tracer.getOccluderHits(), "Found an occluder before one was cached");
+        assertEquals(1, tracer.getOccluderMisses(), "Wrong number of searches");
+        assertEquals(0, tracer.traceRay(new Ray(new Point(2, 1, 30), down)).getRed(), "The point isn't shadowed");
+        assertEquals(1, tracer.getOccluderHits(), "The cached occluder wasn't used");
+        assertEquals(1, tracer.getOccluderMisses(), "Searched the scene for a cached occluder");
+        // TC02: a lit point searches the scene, so it isn't shadowed by the cached occluder
+        assertTrue(tracer.traceRay(new Ray(new Point(30, 30, 30), down)).getRed() > 0, "The point is shadowed");
+        assertEquals(2, tracer.getOccluderMisses(), "The scene wasn't searched when the occluder missed");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: after a lit point nothing is cached, so the next shadowed point searches the scene
+        tracer.traceRay(new Ray(new Point(1, 1, 30), down));
+        assertEquals(1, tracer.getOccluderHits(), "Used an occluder cached before a lit point");
+        assertEquals(3, tracer.getOccluderMisses(), "Wrong number of searches");
+        // TC12: the occluders of replaced geometries are forgotten
+        scene.setGeometries(new Geometries(new Plane(Point.ZERO, new Vector(0, 0, 1)).setMaterial(new Material().setKd(0.5))));
+        assertTrue(tracer.traceRay(new Ray(new Point(1, 1, 30), down)).getRed() > 0,
+                "The point is shadowed by a geometry which isn't in the scene");
+        assertEquals(1, tracer.getOccluderHits(), "Used an occluder of replaced geometries");
+    }
+}
@@ -0,0 +1,101 @@
+package renderer;
+
+import geometries.Geometries;
+import geometries.Intersectable.GeoPoint;
+import geometries.Sphere;
+import geometries.Triangle;
+import lighting.AmbientLight;
+import lighting.SpotLight;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for renderer.RayTracerIterative class
+ *
+ * @author Uriel Dolev
+ */
+class RayTracerIterativeTest {
+    /**
+     * A scene with a transparent sphere and two mirrors, so rays are both reflected and refracted
+     */
+    private Scene mirrorsScene() {
+        Scene scene = new Scene("Test scene").setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1));
+        scene.geometries.add(
+                new Sphere(400d, new Point(-950, -900, -1000)).setEmission(new Color(0, 50, 100))
+                        .setMaterial(new Material().setKd(0.25).setKs(0.25).setShininess(20)
+                                .setKt(new Double3(0.5, 0, 0))),
+                new Sphere(200d, new Point(-950, -900, -1000)).setEmission(new Color(100, 50, 20))
+                        .setMaterial(new Material().setKd(0.25).setKs(0.25).setShininess(20)),
+                new Triangle(new Point(1500, -1500, -1500), new Point(-1500, 1500, -1500), new Point(670, 670, 3000))
+                        .setEmission(new Color(20, 20, 20)).setMaterial(new Material().setKr(1)),
+                new Triangle(new Point(1500, -1500, -1500), new Point(-1500, 1500, -1500), new Point(-1500, -1500, -2000))
+                        .setEmission(new Color(20, 20, 20)).setMaterial(new Material().setKr(new Double3(0.5, 0, 0.4))));
+        scene.lights.add(new SpotLight(new Color(1020, 400, 400), new Point(-750, -750, -150), new Vector(-1, -1, -4))
+                .setKl(0.00001).setKq(0.000005));
+        return scene;
+    }
+
+    /**
+     * Test method for {@link renderer.RayTracerIterative#traceRay(Ray)}.
+     */
+    @Test
+    void testTraceRay() {
+        Scene scene = mirrorsScene();
+        RayTracerBase recursive = new RayTracerBasic(scene);
+        RayTracerBase iterative = new RayTracerIterative(scene);
+        Camera camera = new Camera(new Point(0, 0, 10000), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(2500, 2500).setVPDistance(10000);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the colors of rays reflected and refracted many times are the same as of the recursive tracer
+        for (int i = 0; i < 60; ++i)
+            for (int j = 0; j < 60; ++j) {
+                Ray ray = camera.constructRay(60, 60, j, i);
+                Color expected = recursive.traceRay(ray);
+                Color result = iterative.traceRay(ray);
+                assertEquals(expected.getRed(), result.getRed(), 0.000001, "Wrong red component");
+                assertEquals(expected.getGreen(), result.getGreen(), 0.000001, "Wrong green component");
+                assertEquals(expected.getBlue(), result.getBlue(), 0.000001, "Wrong blue component");
+            }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a ray that misses everything gets the background
+        assertSame(scene.background,
+                iterative.traceRay(new Ray(new Point(0, 0, 10000), new Vector(0, 0, 1))), "Wrong background");
+    }
+
+    /**
+     * Test method for {@link renderer.RayTracerIterative#traceRay(Ray)} with materials that neither reflect nor
+     * transmit light.
+     */
+    @Test
+    void testSkippedBranches() {
+        Scene scene = mirrorsScene();
+        scene.setGeometries(new Geometries(
+                new Sphere(400d, new Point(-950, -900, -1000)).setEmission(new Color(0, 50, 100))
+                        .setMaterial(new Material().setKd(0.25).setKs(0.25).setShininess(20))));
+        int[] constructed = {0};
+        RayTracerBase tracer = new RayTracerIterative(scene) {
+            @Override
+            protected Ray constructReflectedRay(GeoPoint gp, Vector v, Vector n) {
+                ++constructed[0];
+                return super.constructReflectedRay(gp, v, n);
+            }
+
+            @Override
+            protected Ray constructRefractedRay(GeoPoint gp, Vector v, Vector n) {
+                ++constructed[0];
+                return super.constructRefractedRay(gp, v, n);
+            }
+        };
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: no secondary ray is constructed for an opaque, non-reflective geometry
+        assertNotSame(scene.background,
+                tracer.traceRay(new Ray(new Point(-950, -900, 10000), new Vector(0, 0, -1))), "The sphere isn't hit");
+        assertEquals(0, constructed[0], "Constructed secondary rays with no effect");
+    }
+}
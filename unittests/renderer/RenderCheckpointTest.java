@@ -0,0 +1,161 @@
+package renderer;
+
+import geometries.Sphere;
+import lighting.AmbientLight;
+import lighting.PointLight;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for renderer.RenderCheckpoint class
+ *
+ * @author Uriel Dolev
+ */
+class RenderCheckpointTest {
+    /**
+     * A scene with a lit sphere
+     */
+    private Scene sphereScene() {
+        Scene scene = new Scene("Test scene").setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1))
+                .setBackground(new Color(20, 40, 90));
+        scene.geometries.add(new Sphere(50d, new Point(0, 0, -100)).setEmission(new Color(100, 20, 20))
+                .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(30)));
+        scene.lights.add(new PointLight(new Color(500, 300, 0), new Point(-50, -50, 50)));
+        return scene;
+    }
+
+    /**
+     * A camera rendering the scene in the calling thread by tiles of 8 pixels
+     *
+     * @param imageWriter the image writer.
+     * @param rayTracer   the ray tracer.
+     * @return the camera.
+     */
+    private Camera camera(ImageWriter imageWriter, RayTracerBase rayTracer) {
+        return new Camera(Point.ZERO, new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPDistance(100).setVPSize(150, 150)
+                .setImageWriter(imageWriter).setRayTracer(rayTracer)
+                .setDebugPrint(0).setTileSize(8).setMultiThreading(0);
+    }
+
+    /**
+     * Test method for {@link renderer.RenderCheckpoint#tileRendered(ImageWriter, int, int, int, int)}
+     * and {@link renderer.Camera#setCheckpoint(RenderCheckpoint)}.
+     */
+    @Test
+    void testResume() throws IOException {
+        Path file = Files.createTempFile("checkpoint", ".rtcp");
+        file.toFile().deleteOnExit();
+        ImageWriter expected = new ImageWriter("checkpoint test", 30, 20);
+        camera(expected, new RayTracerBasic(sphereScene())).renderImage();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the tiles rendered before a render was stopped are saved
+        ImageWriter stopped = new ImageWriter("checkpoint test", 30, 20);
+        AtomicInteger tiles = new AtomicInteger();
+        RenderCheckpoint checkpoint = new RenderCheckpoint(file, stopped, 8, 1, TimeUnit.HOURS);
+        assertThrows(IllegalStateException.class, () -> camera(stopped, new RayTracerBasic(sphereScene()))
+                .setCheckpoint(checkpoint)
+                .setTileListener((imageWriter, col, row, width, height) -> {
+                    if (tiles.incrementAndGet() == 5) throw new IllegalStateException("the render was stopped");
+                })
+                .renderImage(), "The render wasn't stopped");
+        checkpoint.close();
+
+        // TC02: the saved tiles are restored when the checkpoint is opened again
+        ImageWriter resumed = new ImageWriter("checkpoint test", 30, 20);
+        RenderCheckpoint reopened = new RenderCheckpoint(file, resumed, 8, 1, TimeUnit.HOURS);
+        int finished = 0, finishedPixels = 0;
+        for (int row = 0; row < 20; row += 8)
+            for (int col = 0; col < 30; col += 8)
+                if (reopened.isFinished(col, row)) {
+                    ++finished;
+                    finishedPixels += Math.min(8, 30 - col) * Math.min(8, 20 - row);
+                    for (int y = row; y < Math.min(row + 8, 20); ++y)
+                        for (int x = col; x < Math.min(col + 8, 30); ++x)
+                            assertEquals(expected.getRGB(x, y), resumed.getRGB(x, y), "Wrong restored pixel");
+                }
+        assertEquals(5, finished, "Wrong amount of saved tiles");
+
+        // TC03: a resumed render traces the unfinished tiles only, and completes the image
+        AtomicInteger traced = new AtomicInteger();
+        camera(resumed, new RayTracerBasic(sphereScene()) {
+            @Override
+            public Color traceRay(Ray ray) {
+                traced.incrementAndGet();
+                return super.traceRay(ray);
+            }
+        }).setCheckpoint(reopened).renderImage();
+        assertEquals(30 * 20 - finishedPixels, traced.get(), "Finished tiles were rendered again");
+        for (int y = 0; y < 20; ++y)
+            for (int x = 0; x < 30; ++x)
+                assertEquals(expected.getRGB(x, y), resumed.getRGB(x, y), "Wrong pixel of the resumed render");
+        assertTrue(reopened.isComplete(), "The checkpoint isn't complete");
+        reopened.close();
+
+        // TC04: a render by several threads which failed - the tiles being saved meanwhile aren't interrupted,
+        // so the checkpoint is still written when it is closed
+        Path threaded = Files.createTempFile("checkpoint", ".rtcp");
+        threaded.toFile().deleteOnExit();
+        ImageWriter failed = new ImageWriter("checkpoint test", 30, 20);
+        RenderCheckpoint failedCheckpoint = new RenderCheckpoint(threaded, failed, 4, 1, TimeUnit.HOURS);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicInteger rendered = new AtomicInteger();
+        assertThrows(IllegalStateException.class, () -> camera(failed, new RayTracerBasic(sphereScene()))
+                .setTileSize(4).setMultiThreading(4).setTileExecutor(executor).setCheckpoint(failedCheckpoint)
+                .setTileListener((imageWriter, col, row, width, height) -> {
+                    if (rendered.incrementAndGet() == 6) throw new IllegalStateException("the render failed");
+                })
+                .renderImage(), "The render didn't fail");
+        executor.shutdown();
+        assertDoesNotThrow(failedCheckpoint::close, "The checkpoint's file was closed by the failure");
+        ImageWriter restored = new ImageWriter("checkpoint test", 30, 20);
+        RenderCheckpoint restoredCheckpoint = new RenderCheckpoint(threaded, restored, 4, 1, TimeUnit.HOURS);
+        boolean any = false;
+        for (int row = 0; row < 20; row += 4)
+            for (int col = 0; col < 30; col += 4)
+                if (restoredCheckpoint.isFinished(col, row)) {
+                    any = true;
+                    for (int y = row; y < Math.min(row + 4, 20); ++y)
+                        for (int x = col; x < Math.min(col + 4, 30); ++x)
+                            assertEquals(expected.getRGB(x, y), restored.getRGB(x, y), "Wrong restored pixel");
+                }
+        assertTrue(any, "No tile of the failed render was saved");
+        restoredCheckpoint.close();
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a checkpoint of another tile size isn't opened, and is left as is
+        assertThrows(IllegalArgumentException.class, () -> new RenderCheckpoint(file,
+                new ImageWriter("checkpoint test", 30, 20), 4, 1, TimeUnit.HOURS), "Opened by another tile size");
+        // TC12: a checkpoint of another image size isn't opened
+        assertThrows(IllegalArgumentException.class, () -> new RenderCheckpoint(file,
+                new ImageWriter("checkpoint test", 31, 20), 8, 1, TimeUnit.HOURS), "Opened by another image size");
+        ImageWriter again = new ImageWriter("checkpoint test", 30, 20);
+        RenderCheckpoint complete = new RenderCheckpoint(file, again, 8, 1, TimeUnit.HOURS);
+        assertTrue(complete.isComplete(), "A rejected checkpoint was changed");
+        // TC13: a render by another tile size, into another image size or with an HDR framebuffer can't be resumed
+        assertThrows(IllegalStateException.class, () -> camera(again, new RayTracerBasic(sphereScene()))
+                .setTileSize(4).setCheckpoint(complete).renderImage(), "Resumed by another tile size");
+        assertThrows(IllegalStateException.class, () -> camera(new ImageWriter("checkpoint test", 30, 21),
+                new RayTracerBasic(sphereScene())).setCheckpoint(complete).renderImage(), "Resumed another image size");
+        again.enableHdr();
+        assertThrows(IllegalStateException.class, () -> camera(again, new RayTracerBasic(sphereScene()))
+                .setCheckpoint(complete).renderImage(), "Resumed with an HDR framebuffer");
+        complete.close();
+        // TC14: a file which isn't a checkpoint isn't opened
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17});
+        assertThrows(IllegalArgumentException.class, () -> new RenderCheckpoint(file,
+                new ImageWriter("checkpoint test", 30, 20), 8, 1, TimeUnit.HOURS), "Opened a file that isn't a checkpoint");
+    }
+}
@@ -0,0 +1,51 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for renderer.TileManager class
+ *
+ * @author Uriel Dolev
+ */
+class TileManagerTest {
+
+    /**
+     * Test method for {@link renderer.TileManager#TileManager(int, int, int, double)}.
+     */
+    @Test
+    void testTiles() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the tiles cover every pixel exactly once, including the partial tiles on the edges
+        TileManager manager = new TileManager(10, 7, 4, 0);
+        assertEquals(6, manager.tilesCount(), "Wrong amount of tiles");
+        int[][] covered = new int[10][7];
+        for (int t = 0; t < manager.tilesCount(); ++t) {
+            TileManager.Tile tile = manager.getTile(t);
+            for (int row = tile.row(); row < tile.row() + tile.height(); ++row)
+                for (int col = tile.col(); col < tile.col() + tile.width(); ++col)
+                    ++covered[row][col];
+        }
+        for (int[] row : covered)
+            for (int count : row)
+                assertEquals(1, count, "pixel isn't covered exactly once");
+
+        // TC02: the tiles are in Morton order - the first four tiles form a square
+        manager = new TileManager(8, 8, 2, 0);
+        assertEquals(new TileManager.Tile(0, 0, 2, 2), manager.getTile(0), "Wrong tiles order");
+        assertEquals(new TileManager.Tile(2, 0, 2, 2), manager.getTile(1), "Wrong tiles order");
+        assertEquals(new TileManager.Tile(0, 2, 2, 2), manager.getTile(2), "Wrong tiles order");
+        assertEquals(new TileManager.Tile(2, 2, 2, 2), manager.getTile(3), "Wrong tiles order");
+        assertEquals(new TileManager.Tile(4, 0, 2, 2), manager.getTile(4), "Wrong tiles order");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: a tile larger than the image is cut to the image's size
+        manager = new TileManager(3, 5, 16, 0);
+        assertEquals(1, manager.tilesCount(), "Wrong amount of tiles");
+        assertEquals(new TileManager.Tile(0, 0, 5, 3), manager.getTile(0), "Wrong tile size");
+        // TC12: tile size must be positive
+        assertThrows(IllegalArgumentException.class, () -> new TileManager(3, 5, 0, 0),
+                "zero tile size doesn't throw");
+    }
+}
@@ -0,0 +1,58 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.Color;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for renderer.ToneMapper interface
+ *
+ * @author Uriel Dolev
+ */
+class ToneMapperTest {
+    /**
+     * Test method for {@link renderer.ToneMapper#CLAMP}.
+     */
+    @Test
+    void testClamp() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the same color as of the clamped Color
+        assertEquals(new Color(300, 12.7, 40).getRGB(), ToneMapper.CLAMP.map(300, 12.7f, 40), "Wrong clamped color");
+        // =============== Boundary Values Tests ==================
+        // TC11: black
+        assertEquals(0xFF000000, ToneMapper.CLAMP.map(0, 0, 0), "Wrong black");
+    }
+
+    /**
+     * Test method for {@link renderer.ToneMapper#exposure(double)}.
+     */
+    @Test
+    void testExposure() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a positive exposure brightens, and clamps what becomes too bright
+        assertEquals(new Color(255, 50, 0).getRGB(), ToneMapper.exposure(1).map(200, 25, 0), "Wrong brightened color");
+        // TC02: a negative exposure darkens
+        assertEquals(new Color(100, 12, 0).getRGB(), ToneMapper.exposure(-2).map(400, 50, 0), "Wrong darkened color");
+        // =============== Boundary Values Tests ==================
+        // TC11: no exposure is just clamping
+        assertEquals(ToneMapper.CLAMP.map(300, 12.7f, 40), ToneMapper.exposure(0).map(300, 12.7f, 40),
+                "A zero exposure changed the color");
+    }
+
+    /**
+     * Test method for {@link renderer.ToneMapper#reinhard(double)}.
+     */
+    @Test
+    void testReinhard() {
+        ToneMapper reinhard = ToneMapper.reinhard(1020);
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a radiance above 255 isn't clamped, but compressed below the white
+        int rgb = reinhard.map(510, 0, 0);
+        assertTrue((rgb >> 16 & 0xFF) > 0 && (rgb >> 16 & 0xFF) < 255, "The radiance wasn't compressed");
+        assertTrue((rgb >> 16 & 0xFF) > (reinhard.map(255, 0, 0) >> 16 & 0xFF), "The compression isn't monotonic");
+        // =============== Boundary Values Tests ==================
+        // TC11: the white radiance is mapped to 255, and so is any higher one
+        assertEquals(0xFFFFFFFF, reinhard.map(1020, 1020, 5000), "Wrong white");
+    }
+}
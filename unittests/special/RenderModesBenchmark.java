@@ -0,0 +1,96 @@
+package unittests.special;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import geometries.Plane;
+import geometries.Sphere;
+import lighting.AmbientLight;
+import lighting.PointLight;
+import primitives.Color;
+import primitives.Double3;
+import primitives.Material;
+import primitives.Point;
+import primitives.Vector;
+import renderer.Camera;
+import renderer.ImageWriter;
+import renderer.RayTracerBasic;
+import renderer.TileListener;
+import scene.Scene;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of rendering while the finished tiles are streamed out (simulated by a blocking listener),
+ * comparing the render pool (the listener blocks the tracing threads) with a task per tile
+ * (the listener waits while other tiles are traced).
+ * It renders full scenes, so it is disabled in the unit tests' runs and is meant to be run explicitly.
+ *
+ * @author Uriel Dolev
+ */
+public class RenderModesBenchmark {
+    // simulated time of writing a tile to a file or a socket
+    private static final long TILE_IO_MILLIS = 4;
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+    private final TileListener blockingListener = (imageWriter, col, row, width, height) -> {
+        try {
+            Thread.sleep(TILE_IO_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    };
+
+    private Camera createCamera(String name) {
+        Scene scene = new Scene("Benchmark scene")
+                .setAmbientLight(new AmbientLight(new Color(255, 255, 255), new Double3(0.1)));
+        Material material = new Material().setKd(0.5).setKs(0.5).setShininess(30);
+        for (int i = -3; i <= 3; ++i)
+            for (int j = -3; j <= 3; ++j)
+                scene.geometries.add(new Sphere(8, new Point(i * 25, j * 25, -150))
+                        .setEmission(new Color(20 + 30 * (i + 3), 40, 20 + 30 * (j + 3))).setMaterial(material));
+        scene.geometries.add(new Plane(new Point(0, 0, -170), new Vector(0, 0, 1))
+                .setEmission(new Color(30, 30, 30)).setMaterial(material));
+        scene.lights.add(new PointLight(new Color(600, 500, 400), new Point(60, 60, 0)));
+
+        return new Camera(new Point(0, 0, 100), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPDistance(100).setVPSize(200, 200)
+                .setImageWriter(new ImageWriter(name, 400, 400))
+                .setRayTracer(new RayTracerBasic(scene))
+                .setMultiThreading(THREADS).setDebugPrint(0)
+                .setTileListener(blockingListener);
+    }
+
+    /**
+     * Render the same scene in both modes and check that a task per tile isn't slower than the render pool
+     */
+    @Test
+    @Disabled("benchmark - renders full scenes, run it explicitly")
+    public void compareRenderModes() {
+        try (Camera pooled = createCamera("benchmark render pool");
+             Camera tasks = createCamera("benchmark tile tasks")) {
+            ExecutorService executor = Executors.newCachedThreadPool();
+            tasks.setTileExecutor(executor);
+
+            // warm up both paths before measuring
+            pooled.renderImage();
+            tasks.renderImage();
+
+            long start = System.nanoTime();
+            pooled.renderImage();
+            long pooledMillis = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            tasks.renderImage();
+            long tasksMillis = (System.nanoTime() - start) / 1_000_000;
+            executor.shutdown();
+
+            assertTrue(tasksMillis <= pooledMillis,
+                    String.format("threads=%d, tile I/O=%dms: task per tile %dms is slower than render pool %dms",
+                            THREADS, TILE_IO_MILLIS, tasksMillis, pooledMillis));
+        }
+    }
+}